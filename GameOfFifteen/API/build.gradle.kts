@@ -12,8 +12,32 @@ repositories {
 dependencies {
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
 tasks.test {
     useJUnitPlatform()
-}
\ No newline at end of file
+}
+
+// Generates the additive 6-6-3 pattern database used by the 4x4 solver (run once, offline)
+val patternDatabase = layout.buildDirectory.file("pdb/fifteen-663.pdb")
+
+tasks.register<JavaExec>("generatePatternDatabase") {
+    group = "build"
+    description = "Generates the pattern database file for PatternDatabaseHeuristic"
+    dependsOn(tasks.classes)
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("it.GTFV.GameOfFifteen.Solver.PatternDatabaseGenerator")
+    maxHeapSize = "1g"
+    args(patternDatabase.get().asFile.absolutePath)
+    outputs.file(patternDatabase)
+}
+
+// Re-validates every game of an archive: ./gradlew :API:replayRecords -Parchive=<file>
+tasks.register<JavaExec>("replayRecords") {
+    group = "application"
+    description = "Replays a game archive in parallel and prints how many games are valid"
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("it.GTFV.GameOfFifteen.Records.RecordReplay")
+    argumentProviders.add(CommandLineArgumentProvider { listOf(providers.gradleProperty("archive").get()) })
+}
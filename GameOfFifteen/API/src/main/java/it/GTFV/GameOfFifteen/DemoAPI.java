@@ -23,6 +23,9 @@
 package it.GTFV.GameOfFifteen;
 
 public class DemoAPI {
+    public DemoAPI(){
+    }
+
     public static void test(){
         System.out.println("Demo API");
     }
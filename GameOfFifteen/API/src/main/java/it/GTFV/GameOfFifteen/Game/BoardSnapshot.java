@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Game;
+
+import it.GTFV.GameOfFifteen.Models.NeighborTable;
+import it.GTFV.GameOfFifteen.Models.PackedCells;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+
+import java.util.Arrays;
+
+/**
+ * This class represents an immutable state of a game board.
+ * The cells are packed by {@link PackedCells}: a 4x4 grid fits a single {@code long} with the same layout of {@link PackedBoard}.
+ * The words are the leaves of a trie with 32 branches per node: a movement returns a new snapshot that copies
+ * only the paths to the (at most two) changed words and shares everything else with the old one.
+ * Up to 32 words (16x16 grids) the trie is a single leaf and a 128x128 grid has two levels of nodes above its leaves,
+ * so a movement copies at most two leaves of 32 longs and their parents, whatever the size of the grid.
+ * The old snapshot stays valid: a snapshot can be read by any number of threads without locks or defensive copies.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public final class BoardSnapshot {
+
+    private static final int BRANCH_BITS = 5;
+    private static final int BRANCH_MASK = (1 << BRANCH_BITS) - 1;
+
+    private final int gridSize;
+    private final int blank; // index of the empty cell
+    private final int correct; // number of cells holding their correct value
+    private final int depth; // levels of nodes above the leaves
+    private final Object root; // a long[] leaf when depth is 0, an Object[] node otherwise
+
+    private BoardSnapshot(int gridSize, int blank, int correct, int depth, Object root) {
+        this.gridSize = gridSize;
+        this.blank = blank;
+        this.correct = correct;
+        this.depth = depth;
+        this.root = root;
+    }
+
+    /**
+     * Returns the snapshot of a board
+     *
+     * @param board the board
+     * @return the snapshot of its current state
+     * @throws IllegalArgumentException if board is null
+     */
+    public static BoardSnapshot of(GameBoard board) {
+        if (board == null) throw new IllegalArgumentException("Board can't be null!");
+        int gridSize = board.getGridSize();
+        int[] cells = board.getCells();
+        long[] words = new long[PackedCells.words(gridSize)];
+        PackedCells.pack(gridSize, cells, words);
+        int blank = 0;
+        int correct = 0;
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == 0) blank = i;
+            if (isCorrect(cells[i], i, cells.length)) correct++;
+        }
+        int depth = 0;
+        Object[] level = null;
+        if (words.length > BRANCH_MASK + 1) {
+            level = new Object[chunks(words.length)];
+            for (int i = 0; i < level.length; i++) {
+                level[i] = Arrays.copyOfRange(words, i << BRANCH_BITS, (i + 1) << BRANCH_BITS);
+            }
+            do {
+                Object[] parent = new Object[chunks(level.length)];
+                for (int i = 0; i < parent.length; i++) {
+                    parent[i] = Arrays.copyOfRange(level, i << BRANCH_BITS, Math.min(level.length, (i + 1) << BRANCH_BITS));
+                }
+                level = parent;
+                depth++;
+            } while (level.length > 1);
+        }
+        return new BoardSnapshot(gridSize, blank, correct, depth, depth == 0 ? words : level[0]);
+    }
+
+    private static int chunks(int length) {
+        return (length + BRANCH_MASK) >>> BRANCH_BITS;
+    }
+
+    /**
+     * Returns the snapshot of a solved board
+     *
+     * @param gridSize the number of rows and columns of the grid
+     * @return the solved snapshot
+     * @throws IllegalArgumentException if the size is not in the {@code GameBoard.MIN_SIZE}-{@code GameBoard.MAX_SIZE} range
+     */
+    public static BoardSnapshot solved(int gridSize) {
+        return of(new GameBoard(gridSize, 0));
+    }
+
+    /**
+     * Returns the snapshot reached moving the empty cell in the given direction
+     *
+     * @param direction the sliding direction
+     * @return the new snapshot, or this snapshot if the movement is not possible
+     * @throws IllegalArgumentException if direction is null
+     */
+    public BoardSnapshot move(SlidingDirection direction) {
+        if (direction == null) throw new IllegalArgumentException("Direction can't be null!");
+        int to = NeighborTable.of(this.gridSize).neighbor(this.blank, direction.ordinal());
+        if (to < 0) return this;
+
+        int bits = PackedCells.bitsPerCell(this.gridSize);
+        int perWord = Long.SIZE / bits;
+        int nCells = this.gridSize * this.gridSize;
+        int value = cell(bits, to);
+
+        // the blank word gets the value, the word of the target cell gets the blank (zero bits)
+        int blankWord = this.blank / perWord;
+        int toWord = to / perWord;
+        long toBits = ((1L << bits) - 1) << ((to % perWord) * bits);
+        long blankBits = (long) value << ((this.blank % perWord) * bits);
+        Object next;
+        if (blankWord == toWord) {
+            next = with(this.root, this.depth, blankWord, (word(blankWord) & ~toBits) | blankBits);
+        } else {
+            next = with(this.root, this.depth, blankWord, word(blankWord) | blankBits);
+            next = with(next, this.depth, toWord, word(toWord) & ~toBits);
+        }
+
+        int nextCorrect = this.correct;
+        if (isCorrect(value, to, nCells)) nextCorrect--;
+        if (isCorrect(0, this.blank, nCells)) nextCorrect--;
+        if (isCorrect(value, this.blank, nCells)) nextCorrect++;
+        if (isCorrect(0, to, nCells)) nextCorrect++;
+        return new BoardSnapshot(this.gridSize, to, nextCorrect, this.depth, next);
+    }
+
+    // copies the path from node to the leaf holding the word, the rest of the trie is shared
+    private static Object with(Object node, int level, int word, long value) {
+        if (level == 0) {
+            long[] leaf = ((long[]) node).clone();
+            leaf[word & BRANCH_MASK] = value;
+            return leaf;
+        }
+        Object[] copy = ((Object[]) node).clone();
+        int branch = (word >>> (level * BRANCH_BITS)) & BRANCH_MASK;
+        copy[branch] = with(copy[branch], level - 1, word, value);
+        return copy;
+    }
+
+    private long word(int word) {
+        Object node = this.root;
+        for (int level = this.depth; level > 0; level--) {
+            node = ((Object[]) node)[(word >>> (level * BRANCH_BITS)) & BRANCH_MASK];
+        }
+        return ((long[]) node)[word & BRANCH_MASK];
+    }
+
+    private int cell(int bits, int index) {
+        int perWord = Long.SIZE / bits;
+        return (int) (word(index / perWord) >>> ((index % perWord) * bits)) & ((1 << bits) - 1);
+    }
+
+    /**
+     * Returns the value in the given cell
+     *
+     * @param index the cell index ({@code row * gridSize + column})
+     * @return the value of the cell, 0 for the empty cell
+     */
+    public int get(int index) {
+        if (index < 0 || index >= this.gridSize * this.gridSize) throw new IllegalArgumentException("The cell must be inside the grid!");
+        return cell(PackedCells.bitsPerCell(this.gridSize), index);
+    }
+
+    /**
+     * Returns the value in the given cell
+     *
+     * @param row the row of the cell
+     * @param column the column of the cell
+     * @return the value of the cell, 0 for the empty cell
+     */
+    public int get(int row, int column) {
+        if (row < 0 || row >= this.gridSize || column < 0 || column >= this.gridSize) throw new IllegalArgumentException("The cell must be inside the grid!");
+        return get(row * this.gridSize + column);
+    }
+
+    /**
+     * Returns a copy of the grid values, row by row
+     * @return the values of the cells, 0 for the empty cell
+     */
+    public int[] getCells() {
+        int[] cells = new int[this.gridSize * this.gridSize];
+        PackedCells.unpack(this.gridSize, words(), cells);
+        return cells;
+    }
+
+    /**
+     * Returns a new mutable board with the cells of this snapshot
+     * @return the board
+     */
+    public GameBoard toGameBoard() {
+        return GameBoard.of(this.gridSize, getCells());
+    }
+
+    /**
+     *
+     * @return true if the snapshot is solved
+     */
+    public boolean isSolved() {
+        return this.correct == this.gridSize * this.gridSize;
+    }
+
+    /**
+     * Returns the packed representation of a 4x4 grid
+     * @return the packed grid, see {@link PackedBoard}
+     * @throws IllegalStateException if the grid is not 4x4
+     */
+    public long getPackedState() {
+        if (this.gridSize != PackedBoard.SIZE) throw new IllegalStateException("Only 4x4 grids have a packed representation!");
+        return word(0);
+    }
+
+    private long[] words() {
+        long[] words = new long[PackedCells.words(this.gridSize)];
+        for (int i = 0; i < words.length; i++) words[i] = word(i);
+        return words;
+    }
+
+    public int getBlankIndex() {
+        return this.blank;
+    }
+
+    public int getGridSize() {
+        return this.gridSize;
+    }
+
+    private static boolean isCorrect(int value, int index, int nCells) {
+        return value == (index + 1) % nCells;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof BoardSnapshot snapshot)) return false;
+        if (this.gridSize != snapshot.gridSize) return false;
+        if (this.root == snapshot.root) return true;
+        int words = PackedCells.words(this.gridSize);
+        for (int i = 0; i < words; i++) {
+            if (word(i) != snapshot.word(i)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int words = PackedCells.words(this.gridSize);
+        int hash = 1;
+        for (int i = 0; i < words; i++) hash = 31 * hash + Long.hashCode(word(i));
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "BoardSnapshot{" +
+                "gridSize=" + this.gridSize +
+                ", cells=" + Arrays.toString(getCells()) +
+                '}';
+    }
+}
@@ -22,10 +22,16 @@
 
 package it.GTFV.GameOfFifteen.Game;
 
+import it.GTFV.GameOfFifteen.Metrics.Metrics;
+import it.GTFV.GameOfFifteen.Metrics.MetricsRecorder;
+import it.GTFV.GameOfFifteen.Models.NeighborTable;
+import it.GTFV.GameOfFifteen.Models.PackedMoves;
 import it.GTFV.GameOfFifteen.Models.Position;
 import it.GTFV.GameOfFifteen.Models.SlidingDirection;
 import it.GTFV.GameOfFifteen.Models.Tile;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 
 
@@ -34,44 +40,213 @@ import java.util.Random;
  */
 public class GameBoard {
 
-    private final int gridSize = 4;
-    private Tile[][] tiles;
-    private Position emptyPosition;
+    public static final int DEFAULT_SIZE = 4;
+    public static final int MIN_SIZE = 2;
+    public static final int MAX_SIZE = NeighborTable.MAX_CACHED_SIZE; // the biggest value must also fit in a short
+
+    private static final SlidingDirection[] DIRECTIONS = SlidingDirection.values();
+
+    private final int gridSize;
+    private final int nCells;
+    private final NeighborTable table; // shared positions and movements of the grid size
+    private final Zobrist zobrist; // shared hash keys of the grid size
+    private final short[] cells; // value of every cell, row by row (0 represents the empty position)
+    private final short[] cellOf; // index of the cell holding each value
+    private Tile[][] tiles; // lazily built view of the board, discarded at every move
     private int nCorrectCells;
+    private int manhattanDistance;
+    private long hash;
+    private long[] history; // movements of the player, 2 bits each (see PackedMoves), allocated at the first move
+    private int historySize; // number of recorded movements, undone ones included
+    private int historyCursor; // number of movements currently applied
 
     /**
      * Constructor method
-     * Initializes the game board
+     * Initializes a 4x4 game board
      *
      * @param shuffleMovements represents the number of movements that happen during the shuffle
      */
     public GameBoard(int shuffleMovements) {
+        this(DEFAULT_SIZE, shuffleMovements);
+    }
+
+    /**
+     * Constructor method
+     * Initializes a game board of the given size
+     *
+     * @param gridSize the number of rows and columns of the grid
+     * @param shuffleMovements represents the number of movements that happen during the shuffle
+     * @throws IllegalArgumentException if the size is not in the {@code MIN_SIZE}-{@code MAX_SIZE} range
+     *                                  or the number of shuffle movements is negative
+     */
+    public GameBoard(int gridSize, int shuffleMovements) {
+        if (gridSize < MIN_SIZE || gridSize > MAX_SIZE) throw new IllegalArgumentException("The grid size must be in the " + MIN_SIZE + "-" + MAX_SIZE + " range!");
         if (shuffleMovements < 0) throw new IllegalArgumentException("The number of shuffle movements must be greater or equal than 0!");
 
-        this.tiles = new Tile[gridSize][gridSize];
+        this.gridSize = gridSize;
+        this.nCells = gridSize * gridSize;
+        this.table = NeighborTable.of(gridSize);
+        this.zobrist = Zobrist.of(gridSize);
+        this.cells = new short[this.nCells];
+        this.cellOf = new short[this.nCells];
+        MetricsRecorder metrics = Metrics.recorder();
+        long start = metrics != null ? System.nanoTime() : 0;
         initializeGame();
         shuffle(shuffleMovements);
-        countCorrectCells();
+        evaluate();
+        if (metrics != null) metrics.shuffled(gridSize, System.nanoTime() - start);
     }
 
     /**
-     * Initializes the game, setting the grid with numbered tiles and the empty position.
-     * The grid get filled with numbered tiles in crescent order, starting from 1 to
-     * {@code (gridSize * gridSize) - 1}. We leave the last position (down right) empty.
+     * Constructor method
+     * Initializes a game board with the given cells
      *
+     * @param gridSize the number of rows and columns of the grid
+     * @param cells the values of the cells row by row, a solvable permutation
      */
-    private void initializeGame(){
-        this.emptyPosition = new Position(gridSize-1,gridSize-1,gridSize);
-
-        int cnt = 1;
-        for (int i = 0; i < this.gridSize; i++) {
-            for (int j = 0; j < this.gridSize; j++) {
-                this.tiles[i][j] = new Tile(
-                        new Position(i,j,this.gridSize),
-                        (cnt++)%(this.gridSize*this.gridSize)
-                ); // The last position gets represented with the value 0
+    private GameBoard(int gridSize, short[] cells) {
+        this.gridSize = gridSize;
+        this.nCells = cells.length;
+        this.table = NeighborTable.of(gridSize);
+        this.zobrist = Zobrist.of(gridSize);
+        this.cells = cells;
+        this.cellOf = new short[this.nCells];
+        evaluate();
+    }
+
+    /**
+     * Creates a game board with the given cells
+     *
+     * @param gridSize the number of rows and columns of the grid
+     * @param cells the values of the cells row by row, 0 for the empty cell
+     * @return the game board
+     * @throws IllegalArgumentException if the size is not valid, the cells are not a permutation
+     *                                  of the values {@code 0}-{@code (gridSize * gridSize) - 1} or the grid is not solvable
+     */
+    public static GameBoard of(int gridSize, int[] cells) {
+        if (gridSize < MIN_SIZE || gridSize > MAX_SIZE) throw new IllegalArgumentException("The grid size must be in the " + MIN_SIZE + "-" + MAX_SIZE + " range!");
+        if (cells == null || cells.length != gridSize * gridSize) throw new IllegalArgumentException("The grid must have " + gridSize * gridSize + " cells!");
+
+        short[] values = new short[cells.length];
+        boolean[] seen = new boolean[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] < 0 || cells[i] >= cells.length || seen[cells[i]]) throw new IllegalArgumentException("Every value in the 0-" + (cells.length - 1) + " range must appear exactly once!");
+            seen[cells[i]] = true;
+            values[i] = (short) cells[i];
+        }
+        if (!isSolvable(gridSize, values)) throw new IllegalArgumentException("The grid is not solvable!");
+        return new GameBoard(gridSize, values);
+    }
+
+    /**
+     * Creates a uniformly random solvable game board
+     *
+     * @param gridSize the number of rows and columns of the grid
+     * @return the game board
+     * @throws IllegalArgumentException if the size is not in the {@code MIN_SIZE}-{@code MAX_SIZE} range
+     */
+    public static GameBoard random(int gridSize) {
+        return random(gridSize, new Random());
+    }
+
+    /**
+     * Creates a uniformly random solvable game board, the same seed always gives the same board
+     *
+     * @param gridSize the number of rows and columns of the grid
+     * @param seed the seed of the random generator
+     * @return the game board
+     * @throws IllegalArgumentException if the size is not in the {@code MIN_SIZE}-{@code MAX_SIZE} range
+     */
+    public static GameBoard random(int gridSize, long seed) {
+        return random(gridSize, new Random(seed));
+    }
+
+    /**
+     * Draws a uniformly random permutation of the solved grid (Fisher-Yates) and counts its swaps.
+     * A grid is solvable when the parity of the permutation equals the parity of the distance of the
+     * empty cell from its correct position; when it is not, swapping two tiles fixes it. That swap maps
+     * unsolvable grids one to one onto solvable ones, so the result is still uniform.
+     *
+     * @param gridSize the number of rows and columns of the grid
+     * @param prng the random generator
+     * @return the game board
+     */
+    private static GameBoard random(int gridSize, Random prng) {
+        if (gridSize < MIN_SIZE || gridSize > MAX_SIZE) throw new IllegalArgumentException("The grid size must be in the " + MIN_SIZE + "-" + MAX_SIZE + " range!");
+
+        MetricsRecorder metrics = Metrics.recorder();
+        long start = metrics != null ? System.nanoTime() : 0;
+        int nCells = gridSize * gridSize;
+        short[] cells = new short[nCells];
+        for (int i = 0; i < nCells; i++) {
+            cells[i] = (short) ((i + 1) % nCells);
+        }
+
+        int swaps = 0;
+        int blank = nCells - 1;
+        for (int i = nCells - 1; i > 0; i--) {
+            int j = prng.nextInt(i + 1);
+            if (j == i) continue;
+            short value = cells[i];
+            cells[i] = cells[j];
+            cells[j] = value;
+            if (cells[i] == 0) blank = i;
+            else if (cells[j] == 0) blank = j;
+            swaps++;
+        }
+
+        if ((swaps & 1) != (blankDistance(gridSize, blank) & 1)) {
+            int a = blank == 0 ? 1 : 0;
+            int b = blank <= 1 ? 2 : 1;
+            short value = cells[a];
+            cells[a] = cells[b];
+            cells[b] = value;
+        }
+        GameBoard board = new GameBoard(gridSize, cells);
+        if (metrics != null) metrics.shuffled(gridSize, System.nanoTime() - start);
+        return board;
+    }
+
+    /**
+     * Returns true if the grid can be solved: the parity of the permutation (counted through its cycles)
+     * must equal the parity of the distance of the empty cell from its correct position
+     *
+     * @param gridSize the number of rows and columns of the grid
+     * @param cells a permutation of the values of the grid
+     * @return true if the grid is solvable
+     */
+    private static boolean isSolvable(int gridSize, short[] cells) {
+        int nCells = cells.length;
+        boolean[] visited = new boolean[nCells];
+        int cycles = 0;
+        int blank = 0;
+        for (int i = 0; i < nCells; i++) {
+            if (cells[i] == 0) blank = i;
+            if (visited[i]) continue;
+            cycles++;
+            for (int j = i; !visited[j]; j = cells[j] == 0 ? nCells - 1 : cells[j] - 1) {
+                visited[j] = true;
             }
         }
+        return ((nCells - cycles) & 1) == (blankDistance(gridSize, blank) & 1);
+    }
+
+    /**
+     * Returns the Manhattan distance of the empty cell from its correct position (down right)
+     */
+    private static int blankDistance(int gridSize, int blank) {
+        return (gridSize - 1 - blank / gridSize) + (gridSize - 1 - blank % gridSize);
+    }
+
+    /**
+     * Initializes the game, setting the grid with numbered tiles in crescent order, starting from 1 to
+     * {@code (gridSize * gridSize) - 1}. We leave the last position (down right) empty.
+     */
+    private void initializeGame(){
+        for (int i = 0; i < this.nCells; i++) {
+            this.cells[i] = (short) ((i + 1) % this.nCells); // The last position gets represented with the value 0
+        }
+        this.cellOf[0] = (short) (this.nCells - 1);
     }
 
     /**
@@ -88,18 +263,230 @@ public class GameBoard {
      */
     public Boolean move(SlidingDirection direction){
         if (direction == null) throw new IllegalArgumentException("Direction can't be null!");
-        Position movingTile = this.emptyPosition.next(direction);
+        int from = this.cellOf[0];
+        int to = target(from, direction);
+        if (to < 0) return false;
+
+        slide(from, to);
+        this.tiles = null;
+        update(from, to);
+        ensureHistory(1);
+        record(direction.ordinal());
+        moved(1);
+        return true;
+    }
+
+    /**
+     * Applies a sequence of movements in order, stopping at the first one that is not possible
+     *
+     * @param moves the movements, one character each as accepted by {@code SlidingDirection.fromChar} ("UDLR...")
+     * @return the number of applied movements; when it is smaller than the length of the sequence
+     *         it is also the index of the first movement that was not possible
+     * @throws IllegalArgumentException if moves is null or contains an invalid character, in which case nothing is applied
+     */
+    public int moveAll(CharSequence moves){
+        if (moves == null) throw new IllegalArgumentException("Moves can't be null!");
+        return moveAll(PackedMoves.pack(moves), moves.length());
+    }
+
+    /**
+     * Applies a sequence of movements in order, stopping at the first one that is not possible
+     *
+     * @param moves the movements
+     * @return the number of applied movements; when it is smaller than the size of the list
+     *         it is also the index of the first movement that was not possible
+     * @throws IllegalArgumentException if moves is null or contains null, in which case nothing is applied
+     */
+    public int moveAll(List<SlidingDirection> moves){
+        if (moves == null) throw new IllegalArgumentException("Moves can't be null!");
+        return moveAll(PackedMoves.pack(moves), moves.size());
+    }
+
+    /**
+     * Applies a sequence of packed movements in order, stopping at the first one that is not possible
+     *
+     * @param moves the movements, 2 bits each (see {@link PackedMoves})
+     * @param count the number of movements
+     * @return the number of applied movements; when it is smaller than {@code count}
+     *         it is also the index of the first movement that was not possible
+     * @throws IllegalArgumentException if moves is null or shorter than {@code count} movements
+     */
+    public int moveAll(long[] moves, int count){
+        if (moves == null) throw new IllegalArgumentException("Moves can't be null!");
+        if (count < 0 || PackedMoves.words(count) > moves.length) throw new IllegalArgumentException("The count must be in the 0-" + (long) moves.length * PackedMoves.MOVES_PER_WORD + " range!");
+
+        ensureHistory(count);
+        return apply(moves, count, true);
+    }
 
-        if(movingTile == null) return false;
+    /**
+     * Applies a sequence of packed movements in order, stopping at the first one that is not possible,
+     * without recording them: it is meant for replays and batch jobs that never undo.
+     * The movements can't be undone, and since the previous history would not match the new state anymore
+     * it is cleared, as if the board had been created in the resulting state.
+     *
+     * @param moves the movements, 2 bits each (see {@link PackedMoves})
+     * @param count the number of movements
+     * @return the number of applied movements; when it is smaller than {@code count}
+     *         it is also the index of the first movement that was not possible
+     * @throws IllegalArgumentException if moves is null or shorter than {@code count} movements
+     */
+    public int applyAll(long[] moves, int count){
+        if (moves == null) throw new IllegalArgumentException("Moves can't be null!");
+        if (count < 0 || PackedMoves.words(count) > moves.length) throw new IllegalArgumentException("The count must be in the 0-" + (long) moves.length * PackedMoves.MOVES_PER_WORD + " range!");
 
-        set(this.emptyPosition, get(movingTile));
-        set(movingTile, new Tile(movingTile, 0)); // uses 0 to represent the empty position
+        int applied = apply(moves, count, false);
+        if (applied > 0) {
+            this.historyCursor = 0;
+            this.historySize = 0;
+        }
+        return applied;
+    }
 
-        this.emptyPosition = movingTile;
-        countCorrectCells();
+    /**
+     * Applies packed movements until the first one that is not possible
+     *
+     * @param recording true to record the movements, the history must have room for them
+     * @return the number of applied movements
+     */
+    private int apply(long[] moves, int count, boolean recording){
+        int from = this.cellOf[0];
+        int applied = 0;
+        for (; applied < count; applied++) {
+            int direction = PackedMoves.get(moves, applied);
+            int to = this.table.neighbor(from, direction);
+            if (to < 0) break;
+            slide(from, to);
+            update(from, to);
+            if (recording) record(direction);
+            from = to;
+        }
+        if (applied > 0) {
+            this.tiles = null;
+            moved(applied);
+        }
+        return applied;
+    }
+
+    /**
+     * Undoes the last applied movement, applying the opposite direction
+     *
+     * @return {@code true} if a movement has been undone, {@code false} if there is nothing to undo
+     */
+    public boolean undo(){
+        if (this.historyCursor == 0) return false;
+        int direction = PackedMoves.get(this.history, this.historyCursor - 1) ^ 1; // the opposite direction
+        int from = this.cellOf[0];
+        int to = this.table.neighbor(from, direction);
+        slide(from, to);
+        this.tiles = null;
+        update(from, to);
+        this.historyCursor--;
+        moved(1);
         return true;
     }
 
+    /**
+     * Applies again the last undone movement
+     *
+     * @return {@code true} if a movement has been redone, {@code false} if there is nothing to redo
+     */
+    public boolean redo(){
+        if (this.historyCursor == this.historySize) return false;
+        int from = this.cellOf[0];
+        int to = this.table.neighbor(from, PackedMoves.get(this.history, this.historyCursor));
+        slide(from, to);
+        this.tiles = null;
+        update(from, to);
+        this.historyCursor++;
+        moved(1);
+        return true;
+    }
+
+    /**
+     * @return true if there is a movement to undo
+     */
+    public boolean canUndo(){
+        return this.historyCursor > 0;
+    }
+
+    /**
+     * @return true if there is a movement to redo
+     */
+    public boolean canRedo(){
+        return this.historyCursor < this.historySize;
+    }
+
+    /**
+     * Returns the number of movements applied since the creation of the board, undone ones excluded
+     * @return the number of movements
+     */
+    public int getMoveCount(){
+        return this.historyCursor;
+    }
+
+    /**
+     * Makes room in the history for the given number of new movements, doubling its size when it is full
+     *
+     * @param count the number of movements about to be recorded
+     * @throws IllegalStateException if the history would exceed {@code Integer.MAX_VALUE} movements
+     */
+    private void ensureHistory(int count){
+        if (count > Integer.MAX_VALUE - this.historyCursor) throw new IllegalStateException("The history can't hold more than " + Integer.MAX_VALUE + " movements!");
+        int words = PackedMoves.words(this.historyCursor + count);
+        if (this.history == null) {
+            this.history = new long[Math.max(1, words)];
+        } else if (words > this.history.length) {
+            this.history = Arrays.copyOf(this.history, Math.max(words, this.history.length * 2));
+        }
+    }
+
+    /**
+     * Records an applied movement; the undone movements can't be redone anymore
+     *
+     * @param direction the ordinal of the direction
+     */
+    private void record(int direction){
+        PackedMoves.set(this.history, this.historyCursor++, direction);
+        this.historySize = this.historyCursor;
+    }
+
+    /**
+     * Reports applied movements to the metrics recorder, if any
+     *
+     * @param count the number of applied movements
+     */
+    private static void moved(int count){
+        MetricsRecorder metrics = Metrics.recorder();
+        if (metrics != null) metrics.movesApplied(count);
+    }
+
+    /**
+     * Returns the index the empty cell reaches moving in the given direction.
+     * The offsets are the same used by {@code Position.next}.
+     *
+     * @param blank index of the empty cell
+     * @param direction the sliding direction
+     * @return the new index of the empty cell, or -1 if the movement is not possible
+     */
+    private int target(int blank, SlidingDirection direction){
+        return this.table.neighbor(blank, direction.ordinal());
+    }
+
+    /**
+     * Moves the tile in the cell {@code to} into the empty cell {@code from}
+     *
+     * @param from the empty cell
+     * @param to the cell of the moving tile, which becomes empty
+     */
+    private void slide(int from, int to){
+        short value = this.cells[to];
+        this.cells[from] = value;
+        this.cells[to] = 0;
+        this.cellOf[value] = (short) from;
+        this.cellOf[0] = (short) to;
+    }
+
     /**
      *
      * Shuffles the tiles randomly based on the available movements
@@ -109,10 +496,13 @@ public class GameBoard {
     private void shuffle(int movements){
         Random prng = new Random();
         for (int i = 0; i < movements; i++) {
-            SlidingDirection[] moves = enabledMoves();
-            if(moves.length > 0) {
-                move(moves[prng.nextInt(moves.length)]);
-            }
+            // draws until the move is possible, so every available movement is equally likely
+            int from = this.cellOf[0];
+            int to;
+            do {
+                to = this.table.neighbor(from, prng.nextInt(DIRECTIONS.length));
+            } while (to < 0);
+            slide(from, to);
         }
     }
 
@@ -121,84 +511,224 @@ public class GameBoard {
      * @return true if the game is solved
      */
     public boolean isSolved() {
-        return (this.nCorrectCells==(this.gridSize*this.gridSize));
+        boolean solved = this.nCorrectCells == this.nCells;
+        MetricsRecorder metrics = Metrics.recorder();
+        if (metrics != null) metrics.solvedChecked(solved);
+        return solved;
+    }
+
+    /**
+     * Returns the sum of the Manhattan distances of every tile from its correct position
+     *
+     * @return the total Manhattan distance, 0 when the game is solved
+     */
+    public int getManhattanDistance() {
+        return this.manhattanDistance;
     }
 
     /**
      * Method which sets the available movements based on the position of the empty cell
      *
-     * @return array with available movements
+     * @return array with available movements, owned by the caller
      */
     public SlidingDirection[] enabledMoves() {
-        return emptyPosition.enabledMoves();
+        return this.table.enabledMoves(this.cellOf[0]).toArray(new SlidingDirection[0]);
+    }
+
+    /**
+     * Returns the available movements of the empty cell as a bit mask, without allocating
+     *
+     * @return one bit for every available direction, indexed by ordinal
+     */
+    public int enabledMask() {
+        return this.table.enabledMask(this.cellOf[0]);
     }
 
     /**
      *
      * Method which determines the available movements based on the given tile value
      *
-     * @return array with available movements
+     * @return array with available movements, owned by the caller
+     * @throws IllegalArgumentException if the value is not on the grid
      */
     public SlidingDirection[] enabledMoves(int value) {
-        return get(value).getPosition().enabledMoves();
+        if(value < 0 || value >= this.nCells) throw new IllegalArgumentException("Tile value must be in the 0-" + (this.nCells - 1) + " range");
+        return this.table.enabledMoves(this.cellOf[value]).toArray(new SlidingDirection[0]);
     }
 
     /**
-     * Inserts a tile in the wanted position
-     *
-     * @param position wanted position
-     * @param tile tile to insert
+     * Returns the tile based on its numeric value
+     * @param value the tile value
+     * @return the tile based on its numeric value
      */
-    private void set(Position position, Tile tile){
-        this.tiles[position.row()][position.column()] = new Tile(position, tile.getValue());
+    public Tile get(int value){
+        if(value < 0 || value >= this.nCells) return null;
+        return tileAt(cellOf[value]);
     }
 
     /**
-     * Returns the tile in the specified position
-     * @param position wanted position
-     * @return tile in the wanted position
+     * Returns the value of the tile in a cell
+     *
+     * @param row the row of the cell
+     * @param column the column of the cell
+     * @return the tile value, 0 for the empty cell
+     * @throws IllegalArgumentException if the cell is outside the grid
      */
-    private Tile get(Position position){
-        return this.tiles[position.row()][position.column()];
+    public int getValue(int row, int column){
+        if(row < 0 || row >= this.gridSize || column < 0 || column >= this.gridSize) throw new IllegalArgumentException("The cell must be inside the grid!");
+        return this.cells[row * this.gridSize + column];
     }
 
     /**
-     * Returns the tile based on its numeric value
+     * Returns the direction that slides the tile with the given value into the empty position
+     *
      * @param value the tile value
-     * @return the tile based on its numeric value
+     * @return the direction that moves the tile, or {@code null} if the tile is not adjacent to the empty position
      */
-    public Tile get(int value){
-        for (int i = 0; i < this.gridSize; i++) {
-            for (int j = 0; j < this.gridSize; j++) {
-                if(tiles[i][j].getValue() == value) return tiles[i][j];
-            }
+    public SlidingDirection getMoveFor(int value){
+        if(value <= 0 || value >= this.nCells) return null;
+        int cell = cellOf[value];
+        int blank = cellOf[0];
+
+        if(cell == blank + this.gridSize) return SlidingDirection.UP;
+        if(cell == blank - this.gridSize) return SlidingDirection.DOWN;
+        if(cell / this.gridSize == blank / this.gridSize) {
+            if(cell == blank + 1) return SlidingDirection.RIGHT;
+            if(cell == blank - 1) return SlidingDirection.LEFT;
         }
         return null;
     }
 
     /**
-     * Calculates the number of cells in the correct position
+     * Returns the tile in the cell with the given index, reusing the board view if it is available
+     * @param index the cell index
+     * @return the tile in the cell
+     */
+    private Tile tileAt(int index){
+        if (this.tiles != null) return this.tiles[index / this.gridSize][index % this.gridSize];
+        return new Tile(this.table.position(index), this.cells[index]);
+    }
+
+    /**
+     * Returns true if the given value is the expected one for the given cell
+     *
+     * @param value the tile value
+     * @param index the cell index
+     * @return true if the value is in its correct cell
      */
-    private void countCorrectCells(){
+    private boolean isCorrect(int value, int index){
+        return value == (index + 1) % this.nCells;
+    }
+
+    /**
+     * Returns the Manhattan distance of a tile from its correct cell
+     *
+     * @param value the tile value
+     * @param index the cell index where the tile is
+     * @return the Manhattan distance of the tile, 0 for the empty cell
+     */
+    private int manhattan(int value, int index){
+        if(value == 0) return 0;
+        int goal = value - 1;
+        return Math.abs(goal / this.gridSize - index / this.gridSize) + Math.abs(goal % this.gridSize - index % this.gridSize);
+    }
+
+    /**
+     * Calculates the value index, the number of cells in the correct position, the total Manhattan distance and the hash
+     */
+    private void evaluate(){
         nCorrectCells = 0;
-        for (int i = 0; i < this.gridSize; i++) {
-            for (int j = 0; j < this.gridSize; j++) {
-                if(tiles[i][j].isCorrect()) nCorrectCells++;
-            }
+        manhattanDistance = 0;
+        hash = 0;
+        for (int i = 0; i < this.nCells; i++) {
+            int value = this.cells[i];
+            cellOf[value] = (short) i;
+            if(isCorrect(value, i)) nCorrectCells++;
+            manhattanDistance += manhattan(value, i);
+            hash ^= zobrist.key(value, i);
         }
     }
 
     /**
-     * Returns the game grid as a two-dimensional array
+     * Updates the number of correct cells, the Manhattan distance and the hash after a slide.
+     * Only the two swapped cells change, so we only need to look at them.
+     *
+     * @param from the cell that was empty and now holds the moved tile
+     * @param to the cell that held the moved tile and is now empty
+     */
+    private void update(int from, int to){
+        int value = this.cells[from];
+
+        if(isCorrect(value, to)) nCorrectCells--;
+        if(isCorrect(0, from)) nCorrectCells--;
+        if(isCorrect(value, from)) nCorrectCells++;
+        if(isCorrect(0, to)) nCorrectCells++;
+
+        manhattanDistance += manhattan(value, from) - manhattan(value, to);
+        hash ^= zobrist.delta(value, from, to);
+    }
+
+    /**
+     * Returns the game grid as a two-dimensional array.
+     * The array is built on the first call after a move and reused until the next one.
+     * It must only be read by the thread that moves the board; other threads can read a {@link BoardSnapshot}.
      * @return the game grid as a two-dimensional array
      */
-    public Tile[][] getBoard(){return this.tiles;}
+    public Tile[][] getBoard(){
+        if (this.tiles == null) {
+            Tile[][] view = new Tile[this.gridSize][this.gridSize];
+            for (int i = 0; i < this.gridSize; i++) {
+                for (int j = 0; j < this.gridSize; j++) {
+                    view[i][j] = new Tile(this.table.position(i, j), this.cells[i * this.gridSize + j]);
+                }
+            }
+            this.tiles = view;
+        }
+        return this.tiles;
+    }
+
+    /**
+     * Returns a copy of the grid values, row by row
+     * @return the values of the cells, 0 for the empty cell
+     */
+    public int[] getCells(){
+        int[] copy = new int[this.nCells];
+        for (int i = 0; i < this.nCells; i++) {
+            copy[i] = this.cells[i];
+        }
+        return copy;
+    }
 
     /**
      * Returns the empty position
      * @return the empty position
      */
-    public Position getEmptyPosition(){return this.emptyPosition;}
+    public Position getEmptyPosition(){
+        return this.table.position(this.cellOf[0]);
+    }
+
+    /**
+     * Returns the Zobrist hash of the grid, updated at every move.
+     * Equal grids of the same size always have the same hash.
+     * @return the hash of the grid, see {@link Zobrist}
+     */
+    public long getZobristHash(){
+        return this.hash;
+    }
+
+    /**
+     * Returns the packed representation of a 4x4 grid
+     * @return the packed grid, see {@link PackedBoard}
+     * @throws IllegalStateException if the grid is not 4x4
+     */
+    public long getPackedState(){
+        if (this.gridSize != PackedBoard.SIZE) throw new IllegalStateException("Only 4x4 grids have a packed representation!");
+        long packed = 0;
+        for (int i = 0; i < this.nCells; i++) {
+            packed |= (long) this.cells[i] << (i << 2);
+        }
+        return packed;
+    }
 
     /**
      * Returns the size of the grid
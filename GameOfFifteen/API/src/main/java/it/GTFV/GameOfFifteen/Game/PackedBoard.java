@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Game;
+
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+
+/**
+ * This class implements a compact 4x4 game engine.
+ * The whole grid is stored in a single {@code long}: the cell with index
+ * {@code row * 4 + column} occupies the 4 bits starting at {@code index * 4},
+ * and the empty cell is represented with the value 0.
+ * Moves are done with shifts and masks, without allocating any object.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public final class PackedBoard {
+
+    public static final int SIZE = 4;
+    public static final int CELLS = SIZE * SIZE;
+
+    /**
+     * Packed representation of the solved grid (1, 2, ..., 15 and the empty cell down right)
+     */
+    public static final long SOLVED = 0x0FEDCBA987654321L;
+
+    /**
+     * Manhattan distance of every tile value (row) from every cell (column), 0 for the empty cell
+     */
+    private static final byte[] MANHATTAN = new byte[CELLS * CELLS];
+
+    static {
+        for (int value = 1; value < CELLS; value++) {
+            int goal = value - 1;
+            for (int index = 0; index < CELLS; index++) {
+                MANHATTAN[value * CELLS + index] = (byte) (Math.abs(goal / SIZE - index / SIZE) + Math.abs(goal % SIZE - index % SIZE));
+            }
+        }
+    }
+
+    private long cells;
+    private int blankIndex;
+
+    /**
+     * Constructor method
+     * Initializes a solved board
+     */
+    public PackedBoard() {
+        this.cells = SOLVED;
+        this.blankIndex = CELLS - 1;
+    }
+
+    /**
+     * Constructor method
+     * Initializes the board from its packed representation
+     *
+     * @param cells the packed grid, 4 bits per cell
+     * @throws IllegalArgumentException if the cells are not a permutation of the values 0-15
+     */
+    public PackedBoard(long cells) {
+        int seen = 0;
+        int blank = -1;
+        for (int i = 0; i < CELLS; i++) {
+            int value = nibble(cells, i);
+            seen |= 1 << value;
+            if (value == 0) blank = i;
+        }
+        if (seen != 0xFFFF) throw new IllegalArgumentException("The cells must contain every value in the 0-15 range exactly once!");
+
+        this.cells = cells;
+        this.blankIndex = blank;
+    }
+
+    /**
+     * Moves the tile adjacent to the empty cell in the specified direction.
+     * The empty cell moves with the same offsets used by {@code Position.next}.
+     *
+     * @param direction the sliding direction
+     * @return {@code true} if the movement had success
+     *         {@code false} if the movement is not possible
+     * @throws IllegalArgumentException if direction is null
+     */
+    public boolean move(SlidingDirection direction) {
+        if (direction == null) throw new IllegalArgumentException("Direction can't be null!");
+        int target = target(this.blankIndex, direction);
+        if (target < 0) return false;
+
+        long value = (this.cells >>> (target << 2)) & 0xFL;
+        this.cells = (this.cells & ~(0xFL << (target << 2))) | (value << (this.blankIndex << 2));
+        this.blankIndex = target;
+        return true;
+    }
+
+    /**
+     * Returns the index the empty cell reaches moving in the given direction
+     *
+     * @param blankIndex index of the empty cell
+     * @param direction the sliding direction
+     * @return the new index of the empty cell, or -1 if the movement is not possible
+     */
+    static int target(int blankIndex, SlidingDirection direction) {
+        return switch (direction) {
+            case UP -> blankIndex < CELLS - SIZE ? blankIndex + SIZE : -1;
+            case DOWN -> blankIndex >= SIZE ? blankIndex - SIZE : -1;
+            case RIGHT -> (blankIndex & (SIZE - 1)) != SIZE - 1 ? blankIndex + 1 : -1;
+            case LEFT -> (blankIndex & (SIZE - 1)) != 0 ? blankIndex - 1 : -1;
+        };
+    }
+
+    /**
+     * Returns the value stored in the given cell of a packed grid
+     *
+     * @param cells the packed grid
+     * @param index the cell index
+     * @return the value of the cell
+     */
+    public static int nibble(long cells, int index) {
+        return (int) (cells >>> (index << 2)) & 0xF;
+    }
+
+    /**
+     * Returns the Manhattan distance of a tile from its correct cell
+     *
+     * @param value the tile value
+     * @param index the cell index where the tile is
+     * @return the Manhattan distance of the tile, 0 for the empty cell
+     */
+    public static int manhattan(int value, int index) {
+        return MANHATTAN[value * CELLS + index];
+    }
+
+    /**
+     * Returns true if the given value is the expected one for the given cell
+     *
+     * @param value the tile value
+     * @param index the cell index
+     * @return true if the value is in its correct cell
+     */
+    public static boolean isCorrect(int value, int index) {
+        return value == (index + 1) % CELLS;
+    }
+
+    /**
+     * Returns the value in the given cell
+     *
+     * @param index the cell index ({@code row * 4 + column})
+     * @return the value of the cell, 0 for the empty cell
+     */
+    public int get(int index) {
+        return nibble(this.cells, index);
+    }
+
+    /**
+     * Returns the value in the given cell
+     *
+     * @param row the row of the cell
+     * @param column the column of the cell
+     * @return the value of the cell, 0 for the empty cell
+     */
+    public int get(int row, int column) {
+        return nibble(this.cells, row * SIZE + column);
+    }
+
+    /**
+     *
+     * @return true if the board is solved
+     */
+    public boolean isSolved() {
+        return this.cells == SOLVED;
+    }
+
+    /**
+     * Returns the packed grid
+     * @return the packed grid
+     */
+    public long getCells() {
+        return this.cells;
+    }
+
+    /**
+     * Returns the index of the empty cell
+     * @return the index of the empty cell
+     */
+    public int getBlankIndex() {
+        return this.blankIndex;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof PackedBoard board)) return false;
+        return this.cells == board.cells;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.cells);
+    }
+
+    @Override
+    public String toString() {
+        return "PackedBoard{" +
+                "cells=" + Long.toHexString(this.cells) +
+                ", blankIndex=" + this.blankIndex +
+                '}';
+    }
+}
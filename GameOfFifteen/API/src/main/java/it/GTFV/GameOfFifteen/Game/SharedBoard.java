@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Game;
+
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * This class is a mutable game board that can be read by any thread without locks.
+ * Its state is an immutable {@link BoardSnapshot} published through a volatile reference:
+ * a movement builds the next snapshot and replaces the reference with a compare-and-set,
+ * so readers always see a complete state, and concurrent writers never lose a movement.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public final class SharedBoard {
+
+    private static final VarHandle CURRENT;
+
+    static {
+        try {
+            CURRENT = MethodHandles.lookup().findVarHandle(SharedBoard.class, "current", BoardSnapshot.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile BoardSnapshot current;
+
+    /**
+     * Constructor method
+     *
+     * @param initial the initial state
+     * @throws IllegalArgumentException if initial is null
+     */
+    public SharedBoard(BoardSnapshot initial) {
+        if (initial == null) throw new IllegalArgumentException("Snapshot can't be null!");
+        this.current = initial;
+    }
+
+    /**
+     * Moves the empty cell in the given direction
+     *
+     * @param direction the sliding direction
+     * @return {@code true} if the movement had success
+     *         {@code false} if the movement is not possible
+     * @throws IllegalArgumentException if direction is null
+     */
+    public boolean move(SlidingDirection direction) {
+        while (true) {
+            BoardSnapshot snapshot = this.current;
+            BoardSnapshot next = snapshot.move(direction);
+            if (next == snapshot) return false;
+            if (CURRENT.compareAndSet(this, snapshot, next)) return true;
+        }
+    }
+
+    /**
+     * Replaces the whole state, for example with a new game
+     *
+     * @param snapshot the new state
+     * @throws IllegalArgumentException if snapshot is null
+     */
+    public void set(BoardSnapshot snapshot) {
+        if (snapshot == null) throw new IllegalArgumentException("Snapshot can't be null!");
+        this.current = snapshot;
+    }
+
+    /**
+     * Returns the current state, which never changes after it is returned
+     * @return the latest snapshot
+     */
+    public BoardSnapshot snapshot() {
+        return this.current;
+    }
+
+    /**
+     *
+     * @return true if the board is solved
+     */
+    public boolean isSolved() {
+        return this.current.isSolved();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Game;
+
+import it.GTFV.GameOfFifteen.Models.NeighborTable;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This class contains the Zobrist keys of a grid size: one random 64-bit key for every (value, cell) pair.
+ * The hash of a grid is the xor of the keys of its cells, so a movement updates it with four xors
+ * instead of a pass over the grid. The keys are fixed (derived from the pair with a SplitMix64 mix),
+ * so the same grid always has the same hash, also across runs.
+ * <p>
+ * Keys are precomputed up to {@code MAX_TABLE_SIZE}; for bigger grids the table would not fit
+ * in the cache (or in memory), so they are computed on the fly with the same function.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public final class Zobrist {
+
+    public static final int MAX_TABLE_SIZE = 16;
+
+    private static final AtomicReferenceArray<Zobrist> KEYS = new AtomicReferenceArray<>(NeighborTable.MAX_CACHED_SIZE + 1);
+
+    private final int nCells;
+    private final long[] keys; // key of every (value, cell) pair at value * nCells + cell, null for big grids
+
+    private Zobrist(int size) {
+        this.nCells = size * size;
+        if (size > MAX_TABLE_SIZE) {
+            this.keys = null;
+        } else {
+            this.keys = new long[this.nCells * this.nCells];
+            for (int i = 0; i < this.keys.length; i++) {
+                this.keys[i] = mix(i);
+            }
+        }
+    }
+
+    /**
+     * Returns the keys of a grid size, built on the first call and then shared
+     *
+     * @param size the number of rows and columns of the grid
+     * @return the keys of the grid size
+     * @throws IllegalArgumentException if the size is not in the 1-{@code NeighborTable.MAX_CACHED_SIZE} range
+     */
+    public static Zobrist of(int size) {
+        if (size < 1 || size > NeighborTable.MAX_CACHED_SIZE) throw new IllegalArgumentException("The grid size must be in the 1-" + NeighborTable.MAX_CACHED_SIZE + " range!");
+        Zobrist zobrist = KEYS.get(size);
+        if (zobrist == null) {
+            KEYS.compareAndSet(size, null, new Zobrist(size));
+            zobrist = KEYS.get(size);
+        }
+        return zobrist;
+    }
+
+    /**
+     * Returns the key of a value in a cell
+     *
+     * @param value the tile value, 0 for the empty cell
+     * @param cell the cell index
+     * @return the key
+     */
+    public long key(int value, int cell) {
+        int index = value * this.nCells + cell;
+        return this.keys != null ? this.keys[index] : mix(index);
+    }
+
+    /**
+     * Returns the hash of a grid
+     *
+     * @param cells the values of the cells row by row, 0 for the empty cell
+     * @return the xor of the keys of all the cells
+     */
+    public long hash(int[] cells) {
+        long hash = 0;
+        for (int i = 0; i < cells.length; i++) {
+            hash ^= key(cells[i], i);
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the change of the hash when a tile and the empty cell swap their cells.
+     * The change is the same in both directions, so it also undoes the movement.
+     *
+     * @param value the value of the moving tile
+     * @param from one of the two cells
+     * @param to the other cell
+     * @return the value to xor into the hash
+     */
+    public long delta(int value, int from, int to) {
+        return key(value, from) ^ key(value, to) ^ key(0, from) ^ key(0, to);
+    }
+
+    /**
+     * SplitMix64 applied to the index of a (value, cell) pair
+     */
+    private static long mix(int index) {
+        long z = (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is a {@link MetricsRecorder} that keeps counters in memory: {@link LongAdder}s for the totals
+ * and {@link LatencyHistogram}s for the durations, so concurrent updates don't contend on a single field.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public class CounterRecorder implements MetricsRecorder {
+
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder solvedChecks = new LongAdder();
+    private final LongAdder expandedNodes = new LongAdder();
+    private final LongAdder heuristicEvaluations = new LongAdder();
+    private final LatencyHistogram shuffleLatency = new LatencyHistogram();
+    private final LatencyHistogram solveLatency = new LatencyHistogram();
+
+    /**
+     * Constructor method
+     * All the counters start from 0
+     */
+    public CounterRecorder() {
+    }
+
+    @Override
+    public void movesApplied(int count) {
+        this.moves.add(count);
+    }
+
+    @Override
+    public void shuffled(int gridSize, long nanos) {
+        this.shuffleLatency.record(nanos);
+    }
+
+    @Override
+    public void solvedChecked(boolean solved) {
+        this.solvedChecks.increment();
+    }
+
+    @Override
+    public void solved(String solver, int gridSize, int length, long expandedNodes, long heuristicEvaluations, long nanos) {
+        this.expandedNodes.add(expandedNodes);
+        this.heuristicEvaluations.add(heuristicEvaluations);
+        this.solveLatency.record(nanos);
+    }
+
+    public long getMoves() {
+        return this.moves.sum();
+    }
+
+    public long getSolvedChecks() {
+        return this.solvedChecks.sum();
+    }
+
+    public long getExpandedNodes() {
+        return this.expandedNodes.sum();
+    }
+
+    public long getHeuristicEvaluations() {
+        return this.heuristicEvaluations.sum();
+    }
+
+    public LatencyHistogram getShuffleLatency() {
+        return this.shuffleLatency;
+    }
+
+    public LatencyHistogram getSolveLatency() {
+        return this.solveLatency;
+    }
+
+    @Override
+    public String toString() {
+        return "moves=" + getMoves() +
+                "\nisSolved checks=" + getSolvedChecks() +
+                "\nshuffles: " + this.shuffleLatency +
+                "\nsolves: " + this.solveLatency +
+                "\nexpanded nodes=" + getExpandedNodes() +
+                "\nheuristic evaluations=" + getHeuristicEvaluations();
+    }
+}
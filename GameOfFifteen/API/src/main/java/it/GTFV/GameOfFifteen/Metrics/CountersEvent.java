@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+
+/**
+ * This periodic event is emitted by {@link JfrRecorder} with the totals of the high-frequency counters,
+ * which would be too expensive to record one event at a time
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+@Name("it.GTFV.GameOfFifteen.Counters")
+@Label("Game Counters")
+@Category({"Game Of Fifteen", "Game"})
+@Description("Totals of the game counters since the recorder was installed")
+@Period("1 s")
+final class CountersEvent extends Event {
+
+    @Label("Moves")
+    long moves;
+
+    @Label("isSolved Checks")
+    long solvedChecks;
+
+    @Label("Expanded Nodes")
+    long expandedNodes;
+
+    @Label("Heuristic Evaluations")
+    long heuristicEvaluations;
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Metrics;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * This class is a {@link CounterRecorder} that also writes to JDK Flight Recorder:
+ * a {@link ShuffleEvent} for every shuffle, a {@link SolveEvent} for every solution and,
+ * once per period, a {@link CountersEvent} with the totals of the counters.
+ * Events are only built when a recording has enabled them.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public class JfrRecorder extends CounterRecorder implements AutoCloseable {
+
+    private final Runnable periodic = this::emitCounters;
+
+    /**
+     * Constructor method
+     * Registers the periodic event, {@link #close} removes it
+     */
+    public JfrRecorder() {
+        FlightRecorder.addPeriodicEvent(CountersEvent.class, this.periodic);
+    }
+
+    @Override
+    public void shuffled(int gridSize, long nanos) {
+        super.shuffled(gridSize, nanos);
+        ShuffleEvent event = new ShuffleEvent();
+        if (event.shouldCommit()) {
+            event.gridSize = gridSize;
+            event.shuffleTime = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void solved(String solver, int gridSize, int length, long expandedNodes, long heuristicEvaluations, long nanos) {
+        super.solved(solver, gridSize, length, expandedNodes, heuristicEvaluations, nanos);
+        SolveEvent event = new SolveEvent();
+        if (event.shouldCommit()) {
+            event.solver = solver;
+            event.gridSize = gridSize;
+            event.length = length;
+            event.expandedNodes = expandedNodes;
+            event.heuristicEvaluations = heuristicEvaluations;
+            event.searchTime = nanos;
+            event.commit();
+        }
+    }
+
+    private void emitCounters() {
+        CountersEvent event = new CountersEvent();
+        if (!event.shouldCommit()) return;
+        event.moves = getMoves();
+        event.solvedChecks = getSolvedChecks();
+        event.expandedNodes = getExpandedNodes();
+        event.heuristicEvaluations = getHeuristicEvaluations();
+        event.commit();
+    }
+
+    /**
+     * Emits the last {@link CountersEvent} and removes the periodic event
+     */
+    @Override
+    public void close() {
+        emitCounters();
+        FlightRecorder.removePeriodicEvent(this.periodic);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class counts durations in buckets of powers of 2 nanoseconds: the bucket {@code i} holds the
+ * durations in the {@code [2^(i-1), 2^i)} range. Recording is a few instructions and never allocates;
+ * percentiles are approximated by the upper bound of their bucket, so they are exact within a factor of 2.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * Constructor method
+     * Creates an empty histogram
+     */
+    public LatencyHistogram() {
+    }
+
+    /**
+     * Records a duration
+     *
+     * @param nanos the duration in nanoseconds, negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        this.buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(value)); // 0 for 0, i for [2^(i-1), 2^i)
+        this.count.increment();
+        this.total.add(value);
+    }
+
+    /**
+     * Returns the number of recorded durations
+     * @return the count
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * Returns the average of the recorded durations
+     * @return the mean in nanoseconds, 0 if nothing was recorded
+     */
+    public double getMean() {
+        long n = this.count.sum();
+        return n == 0 ? 0 : (double) this.total.sum() / n;
+    }
+
+    /**
+     * Returns an upper bound of a percentile of the recorded durations
+     *
+     * @param percentile the percentile, in the 0-100 range
+     * @return the upper bound of the bucket holding the percentile, in nanoseconds, 0 if nothing was recorded
+     * @throws IllegalArgumentException if the percentile is not in the 0-100 range
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) throw new IllegalArgumentException("The percentile must be in the 0-100 range!");
+        long n = 0;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets.get(i);
+            n += counts[i];
+        }
+        if (n == 0) return 0;
+
+        long rank = (long) Math.ceil(percentile / 100 * n);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && counts[i] > 0) return i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.0fns, p50<=%dns, p99<=%dns", getCount(), getMean(), getPercentile(50), getPercentile(99));
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Metrics;
+
+/**
+ * This class holds the {@link MetricsRecorder} used by the whole library.
+ * Metrics are disabled until a recorder is set: the instrumented code reads the recorder once
+ * and skips the measurement when it is null, so the cost of disabled metrics is a field load and a branch.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public final class Metrics {
+
+    private static volatile MetricsRecorder recorder;
+
+    private Metrics() {
+    }
+
+    /**
+     * Returns the current recorder
+     *
+     * @return the recorder, null if metrics are disabled
+     */
+    public static MetricsRecorder recorder() {
+        return recorder;
+    }
+
+    /**
+     * Sets the recorder that receives the measurements from now on
+     *
+     * @param metricsRecorder the recorder, null to disable metrics
+     */
+    public static void setRecorder(MetricsRecorder metricsRecorder) {
+        recorder = metricsRecorder;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Metrics;
+
+/**
+ * This interface receives the measurements of the game and of the solvers.
+ * Every method has an empty default, so an implementation only overrides what it records.
+ * The methods are called on the hot paths (a move, an {@code isSolved} check), so they must be cheap and thread safe.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public interface MetricsRecorder {
+
+    /**
+     * Called when movements are applied to a board, undo and redo included
+     *
+     * @param count the number of applied movements
+     */
+    default void movesApplied(int count) {
+    }
+
+    /**
+     * Called when a new board has been shuffled
+     *
+     * @param gridSize the number of rows and columns of the grid
+     * @param nanos the duration of the shuffle
+     */
+    default void shuffled(int gridSize, long nanos) {
+    }
+
+    /**
+     * Called at every {@code isSolved} check of a board
+     *
+     * @param solved the result of the check
+     */
+    default void solvedChecked(boolean solved) {
+    }
+
+    /**
+     * Called when a solver has found a solution
+     *
+     * @param solver the simple name of the solver class
+     * @param gridSize the number of rows and columns of the grid
+     * @param length the number of movements of the solution
+     * @param expandedNodes the number of expanded nodes
+     * @param heuristicEvaluations the number of evaluations of the heuristic, 0 for solvers without one
+     * @param nanos the duration of the search
+     */
+    default void solved(String solver, int gridSize, int length, long expandedNodes, long heuristicEvaluations, long nanos) {
+    }
+}
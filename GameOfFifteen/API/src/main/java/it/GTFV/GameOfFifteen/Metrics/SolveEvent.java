@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * This event is emitted by {@link JfrRecorder} for every solution found by a solver
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+@Name("it.GTFV.GameOfFifteen.Solve")
+@Label("Solve")
+@Category({"Game Of Fifteen", "Solver"})
+@Description("A solution found by a solver")
+final class SolveEvent extends Event {
+
+    @Label("Solver")
+    String solver;
+
+    @Label("Grid Size")
+    int gridSize;
+
+    @Label("Solution Length")
+    int length;
+
+    @Label("Expanded Nodes")
+    long expandedNodes;
+
+    @Label("Heuristic Evaluations")
+    long heuristicEvaluations;
+
+    @Label("Search Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long searchTime;
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Models;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This class contains the precomputed movement tables of a grid size:
+ * one shared {@link Position} for every cell, the neighbor of every cell in every
+ * {@link SlidingDirection} and the allowed directions of every cell.
+ * Tables are built once per size and shared, so generating moves never allocates.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public final class NeighborTable {
+
+    public static final int MAX_CACHED_SIZE = 128;
+
+    private static final SlidingDirection[] DIRECTIONS = SlidingDirection.values();
+    private static final AtomicReferenceArray<NeighborTable> TABLES = new AtomicReferenceArray<>(MAX_CACHED_SIZE + 1);
+    @SuppressWarnings("unchecked")
+    private static final List<SlidingDirection>[] MOVES = (List<SlidingDirection>[]) new List<?>[1 << DIRECTIONS.length]; // unmodifiable directions of every mask
+
+    static {
+        for (int mask = 0; mask < MOVES.length; mask++) {
+            SlidingDirection[] moves = new SlidingDirection[Integer.bitCount(mask)];
+            int n = 0;
+            for (SlidingDirection direction : DIRECTIONS) {
+                if ((mask & (1 << direction.ordinal())) != 0) moves[n++] = direction;
+            }
+            MOVES[mask] = List.of(moves);
+        }
+    }
+
+    private final int size;
+    private final Position[] positions;
+    private final int[] neighbors; // new index of the empty cell for every (cell, direction), -1 if not possible
+    private final byte[] masks; // allowed directions of every cell, one bit per ordinal
+
+    private NeighborTable(int size) {
+        this.size = size;
+        int nCells = size * size;
+        this.positions = new Position[nCells];
+        this.neighbors = new int[nCells * DIRECTIONS.length];
+        this.masks = new byte[nCells];
+
+        for (int cell = 0; cell < nCells; cell++) {
+            int row = cell / size;
+            int column = cell % size;
+            this.positions[cell] = new Position(row, column, size);
+            for (SlidingDirection direction : DIRECTIONS) {
+                // UP and DOWN move the tile, LEFT and RIGHT the empty cell
+                int neighbor = switch (direction) {
+                    case UP -> row < size - 1 ? cell + size : -1;
+                    case DOWN -> row > 0 ? cell - size : -1;
+                    case RIGHT -> column < size - 1 ? cell + 1 : -1;
+                    case LEFT -> column > 0 ? cell - 1 : -1;
+                };
+                this.neighbors[cell * DIRECTIONS.length + direction.ordinal()] = neighbor;
+                if (neighbor >= 0) this.masks[cell] |= (byte) (1 << direction.ordinal());
+            }
+        }
+    }
+
+    /**
+     * Returns the tables of a grid size
+     *
+     * @param size the number of rows and columns of the grid
+     * @return the shared tables for the size
+     * @throws IllegalArgumentException if the size is not in the 1-{@code MAX_CACHED_SIZE} range
+     */
+    public static NeighborTable of(int size) {
+        if (size < 1 || size > MAX_CACHED_SIZE) throw new IllegalArgumentException("The grid size must be in the 1-" + MAX_CACHED_SIZE + " range!");
+        NeighborTable table = TABLES.get(size);
+        if (table == null) {
+            TABLES.compareAndSet(size, null, new NeighborTable(size));
+            table = TABLES.get(size);
+        }
+        return table;
+    }
+
+    /**
+     * Returns true if the tables of the size can be cached
+     *
+     * @param size the number of rows and columns of the grid
+     * @return true if {@link #of} accepts the size
+     */
+    public static boolean isCached(int size) {
+        return size >= 1 && size <= MAX_CACHED_SIZE;
+    }
+
+    /**
+     * Returns the shared position of a cell
+     *
+     * @param index the cell index ({@code row * size + column})
+     * @return the position of the cell
+     */
+    public Position position(int index) {
+        return this.positions[index];
+    }
+
+    /**
+     * Returns the shared position of a cell
+     *
+     * @param row the row of the cell
+     * @param column the column of the cell
+     * @return the position of the cell
+     */
+    public Position position(int row, int column) {
+        return this.positions[row * this.size + column];
+    }
+
+    /**
+     * Returns the correct position of a tile value
+     *
+     * @param value the tile value, 0 for the empty cell
+     * @return the position where the value belongs in the solved grid
+     */
+    public Position goal(int value) {
+        return this.positions[value == 0 ? this.positions.length - 1 : value - 1];
+    }
+
+    /**
+     * Returns the index the empty cell reaches moving in the given direction,
+     * with the same offsets used by {@link Position#next}
+     *
+     * @param index the index of the empty cell
+     * @param direction the ordinal of the direction
+     * @return the new index of the empty cell, or -1 if the movement is not possible
+     */
+    public int neighbor(int index, int direction) {
+        return this.neighbors[index * DIRECTIONS.length + direction];
+    }
+
+    /**
+     * Returns the allowed directions of a cell as a bit mask
+     *
+     * @param index the cell index
+     * @return one bit for every allowed direction, indexed by ordinal
+     */
+    public int enabledMask(int index) {
+        return this.masks[index];
+    }
+
+    /**
+     * Returns the allowed directions of a cell.
+     * The list is unmodifiable and shared by every caller, so no allocation happens.
+     *
+     * @param index the cell index
+     * @return the allowed directions
+     */
+    public List<SlidingDirection> enabledMoves(int index) {
+        return MOVES[this.masks[index]];
+    }
+
+    /**
+     * Returns the number of rows and columns of the grid
+     * @return the size of the grid
+     */
+    public int getSize() {
+        return this.size;
+    }
+}
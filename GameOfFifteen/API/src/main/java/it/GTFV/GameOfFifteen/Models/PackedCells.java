@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Models;
+
+/**
+ * This class encodes the cells of a grid in longs, with the smallest number of bits that holds
+ * {@code gridSize * gridSize - 1}; a cell is never split across two words. Cell {@code i} is stored in the word
+ * {@code i / perWord} at bit {@code (i % perWord) * bits}, where {@code perWord = 64 / bits}.
+ * A 4x4 grid fits a single {@code long}, 4 bits per cell.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public final class PackedCells {
+
+    private PackedCells() {
+    }
+
+    /**
+     * Returns the number of bits of every packed cell
+     *
+     * @param gridSize the number of rows and columns of the grid
+     * @return the bits needed by the biggest value
+     */
+    public static int bitsPerCell(int gridSize) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(gridSize * gridSize - 1));
+    }
+
+    /**
+     * Returns the number of longs that hold the packed cells of a grid
+     *
+     * @param gridSize the number of rows and columns of the grid
+     * @return the number of longs
+     */
+    public static int words(int gridSize) {
+        int perWord = Long.SIZE / bitsPerCell(gridSize);
+        return (gridSize * gridSize + perWord - 1) / perWord;
+    }
+
+    /**
+     * Returns the value of a packed cell
+     *
+     * @param packed the packed cells
+     * @param bits the bits of every cell, see {@link #bitsPerCell}
+     * @param index the cell index
+     * @return the value of the cell
+     */
+    public static int get(long[] packed, int bits, int index) {
+        int perWord = Long.SIZE / bits;
+        return (int) (packed[index / perWord] >>> ((index % perWord) * bits)) & ((1 << bits) - 1);
+    }
+
+    /**
+     * Replaces the value of a packed cell
+     *
+     * @param packed the packed cells
+     * @param bits the bits of every cell, see {@link #bitsPerCell}
+     * @param index the cell index
+     * @param value the new value
+     */
+    public static void set(long[] packed, int bits, int index, int value) {
+        int perWord = Long.SIZE / bits;
+        int shift = (index % perWord) * bits;
+        long mask = ((1L << bits) - 1) << shift;
+        packed[index / perWord] = (packed[index / perWord] & ~mask) | ((long) value << shift);
+    }
+
+    /**
+     * Packs the cells of a grid
+     *
+     * @param gridSize the number of rows and columns of the grid
+     * @param cells the values of the cells row by row
+     * @param into the array that receives the packed cells, at least {@code words(gridSize)} long
+     */
+    public static void pack(int gridSize, int[] cells, long[] into) {
+        int bits = bitsPerCell(gridSize);
+        int perWord = Long.SIZE / bits;
+        for (int i = 0; i < words(gridSize); i++) into[i] = 0;
+        for (int i = 0; i < gridSize * gridSize; i++) {
+            into[i / perWord] |= (long) cells[i] << ((i % perWord) * bits);
+        }
+    }
+
+    /**
+     * Unpacks the cells of a grid
+     *
+     * @param gridSize the number of rows and columns of the grid
+     * @param packed the packed cells
+     * @param into the array that receives the cells, at least {@code gridSize * gridSize} long
+     */
+    public static void unpack(int gridSize, long[] packed, int[] into) {
+        int bits = bitsPerCell(gridSize);
+        for (int i = 0; i < gridSize * gridSize; i++) {
+            into[i] = get(packed, bits, i);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Models;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class encodes sequences of {@link SlidingDirection} with 2 bits per movement,
+ * 32 movements in every {@code long}. Movement {@code i} is stored in the word {@code i / 32}
+ * at bit {@code (i % 32) * 2}, and its value is the ordinal of the direction.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public final class PackedMoves {
+
+    public static final int MOVES_PER_WORD = 32;
+
+    private static final SlidingDirection[] DIRECTIONS = SlidingDirection.values();
+
+    private PackedMoves() {
+    }
+
+    /**
+     * Returns the number of words needed to store the given number of movements
+     *
+     * @param count the number of movements
+     * @return the number of longs
+     */
+    public static int words(int count) {
+        return count / MOVES_PER_WORD + (count % MOVES_PER_WORD != 0 ? 1 : 0); // rounds up without overflowing near Integer.MAX_VALUE
+    }
+
+    /**
+     * Returns the ordinal of a stored movement
+     *
+     * @param packed the packed movements
+     * @param index the index of the movement
+     * @return the ordinal of the direction
+     */
+    public static int get(long[] packed, int index) {
+        return (int) (packed[index >>> 5] >>> ((index & (MOVES_PER_WORD - 1)) << 1)) & 3;
+    }
+
+    /**
+     * Stores a movement, the array must be big enough
+     *
+     * @param packed the packed movements
+     * @param index the index of the movement
+     * @param direction the ordinal of the direction
+     */
+    public static void set(long[] packed, int index, int direction) {
+        int shift = (index & (MOVES_PER_WORD - 1)) << 1;
+        packed[index >>> 5] = (packed[index >>> 5] & ~(3L << shift)) | ((long) direction << shift);
+    }
+
+    /**
+     * Packs a list of movements
+     *
+     * @param moves the movements
+     * @return the packed movements
+     * @throws IllegalArgumentException if moves is null or contains null
+     */
+    public static long[] pack(List<SlidingDirection> moves) {
+        if (moves == null) throw new IllegalArgumentException("Moves can't be null!");
+        long[] packed = new long[words(moves.size())];
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == null) throw new IllegalArgumentException("Direction can't be null!");
+            set(packed, i, moves.get(i).ordinal());
+        }
+        return packed;
+    }
+
+    /**
+     * Packs a string of movements, such as {@code "UDLR"}
+     *
+     * @param moves the movements, one character each as accepted by {@link SlidingDirection#fromChar}
+     * @return the packed movements
+     * @throws IllegalArgumentException if moves is null or contains an invalid character
+     */
+    public static long[] pack(CharSequence moves) {
+        if (moves == null) throw new IllegalArgumentException("Moves can't be null!");
+        long[] packed = new long[words(moves.length())];
+        for (int i = 0; i < moves.length(); i++) {
+            set(packed, i, SlidingDirection.fromChar(moves.charAt(i)).ordinal());
+        }
+        return packed;
+    }
+
+    /**
+     * Unpacks movements into a list
+     *
+     * @param packed the packed movements
+     * @param count the number of movements
+     * @return the movements
+     */
+    public static List<SlidingDirection> unpack(long[] packed, int count) {
+        SlidingDirection[] moves = new SlidingDirection[count];
+        for (int i = 0; i < count; i++) {
+            moves[i] = DIRECTIONS[get(packed, i)];
+        }
+        return Arrays.asList(moves);
+    }
+
+    /**
+     * Returns the movements as a string, such as {@code "UDLR"}
+     *
+     * @param packed the packed movements
+     * @param count the number of movements
+     * @return one character for every movement
+     */
+    public static String toString(long[] packed, int count) {
+        StringBuilder result = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            result.append(DIRECTIONS[get(packed, i)].toChar());
+        }
+        return result.toString();
+    }
+}
@@ -24,7 +24,6 @@ package it.GTFV.GameOfFifteen.Models;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 /**
  *
@@ -40,31 +39,62 @@ import java.util.Objects;
 public record Position(int row, int column, int size) {
 
 
+    /**
+     * Returns the shared position of a cell, the same instance is returned for the same arguments
+     *
+     * @param row
+     * @param column
+     * @param size the size of the grid
+     * @return the position of the cell
+     */
+    public static Position of(int row, int column, int size) {
+        if (NeighborTable.isCached(size) && row >= 0 && row < size && column >= 0 && column < size) {
+            return NeighborTable.of(size).position(row, column);
+        }
+        return new Position(row, column, size);
+    }
+
+    /**
+     * Returns the index of this position in a grid stored row by row
+     *
+     * @return {@code row * size + column}
+     */
+    public int index() {
+        return this.row * this.size + this.column;
+    }
+
     /**
      *
      * Evaluates the position of a cell given their SlidingDirection (UP, DOWN, LEFT, RIGHT)
      *
      * @param direction
-     * @return the position of a cell given their SlidingDirection (UP, DOWN, LEFT, RIGHT)
+     * @return the position of a cell given their SlidingDirection (UP, DOWN, LEFT, RIGHT), or {@code null} if it is outside the grid
      * @throws IllegalArgumentException if direction is null
      */
     public Position next(SlidingDirection direction){
         if(direction == null) throw new IllegalArgumentException("Direction can't be null!");
+        if(NeighborTable.isCached(this.size)){
+            NeighborTable table = NeighborTable.of(this.size);
+            int next = table.neighbor(index(), direction.ordinal());
+            return next < 0 ? null : table.position(next);
+        }
         switch (direction){
-            case UP: if(this.row < this.size-1) return new Position(row+1,column,size);
-            case DOWN: if(this.row > 0) return new Position(row-1,column,size);
-            case RIGHT: if(this.column < size-1) return new Position(row,column+1,size);
-            case LEFT: if(this.column > 0) return new Position(row,column-1,size);
+            case UP: return this.row < this.size-1 ? new Position(row+1,column,size) : null;
+            case DOWN: return this.row > 0 ? new Position(row-1,column,size) : null;
+            case RIGHT: return this.column < size-1 ? new Position(row,column+1,size) : null;
+            case LEFT: return this.column > 0 ? new Position(row,column-1,size) : null;
         }
         return null;
     }
 
     /**
-     * This method returns the allowed SlidingDirections of this position
+     * This method returns the allowed SlidingDirections of this position.
      *
      * @return the allowed SlidingDirections of this position
      */
     public SlidingDirection[] enabledMoves(){
+        if(NeighborTable.isCached(this.size)) return NeighborTable.of(this.size).enabledMoves(index()).toArray(new SlidingDirection[0]);
+
         List<SlidingDirection> moves = new ArrayList<SlidingDirection>();
         if(this.row < this.size-1) moves.add(SlidingDirection.UP);
         if(this.row > 0) moves.add(SlidingDirection.DOWN);
@@ -133,6 +163,6 @@ public record Position(int row, int column, int size) {
 
     @Override
     public int hashCode() {
-        return Objects.hash(row(), column(), size());
+        return 31 * (31 * (31 + row()) + column()) + size(); // same value of Objects.hash(row, column, size), without boxing
     }
 }
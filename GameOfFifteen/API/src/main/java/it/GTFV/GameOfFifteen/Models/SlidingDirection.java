@@ -52,5 +52,33 @@ public enum SlidingDirection {
             default -> throw new IllegalArgumentException("Invalid character");
         };
     }
+
+    /**
+     * Returns the character that represents this direction, the inverse of {@link #fromChar}
+     *
+     * @return 'U', 'D', 'L' or 'R'
+     */
+    public char toChar() {
+        return switch (this) {
+            case UP -> 'U';
+            case DOWN -> 'D';
+            case LEFT -> 'L';
+            case RIGHT -> 'R';
+        };
+    }
+
+    /**
+     * Returns the direction that undoes a movement in this direction
+     *
+     * @return the opposite direction
+     */
+    public SlidingDirection opposite() {
+        return switch (this) {
+            case UP -> DOWN;
+            case DOWN -> UP;
+            case LEFT -> RIGHT;
+            case RIGHT -> LEFT;
+        };
+    }
 }
 
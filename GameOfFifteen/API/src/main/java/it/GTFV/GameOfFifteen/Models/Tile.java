@@ -38,7 +38,8 @@ public class Tile {
      */
     public Tile(Position position, int value) {
         if(position == null) throw new IllegalArgumentException("Position can't be null");
-        if(value < 0 || value > 15) throw new IllegalArgumentException("Tile value must be in the 0-15 range");
+        int maxValue = position.size() * position.size() - 1;
+        if(value < 0 || value > maxValue) throw new IllegalArgumentException("Tile value must be in the 0-" + maxValue + " range");
 
         this.position = position;
         this.value = value;
@@ -61,13 +62,14 @@ public class Tile {
      */
     public Position correctPosition(){
         int tileValue = this.value;
+        int size = this.position.size();
 
         // empty cell case
-        if(tileValue == 0) return new Position(this.position.size()-1, this.position.size()-1, this.position.size());
+        if(tileValue == 0) return Position.of(size-1, size-1, size);
 
-        int x = (tileValue - 1) % this.position.size();
-        int y = (tileValue - 1) / this.position.size();
-        return new Position(y,x,this.position.size());
+        int x = (tileValue - 1) % size;
+        int y = (tileValue - 1) / size;
+        return Position.of(y,x,size);
     }
 
     @Override
@@ -84,6 +86,13 @@ public class Tile {
         return position;
     }
 
+    /**
+     * Moves the tile to another position.
+     * The tiles returned by {@code GameBoard.getBoard} are shared, so changing them changes the view of every caller.
+     * @param position the new position
+     * @deprecated tiles are views of a board; use {@code BoardSnapshot} to keep or share a state
+     */
+    @Deprecated
     public void setPosition(Position position) {
         this.position = position;
     }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Records;
+
+import it.GTFV.GameOfFifteen.Game.GameBoard;
+import it.GTFV.GameOfFifteen.Models.PackedCells;
+import it.GTFV.GameOfFifteen.Models.PackedMoves;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+
+import java.util.List;
+
+/**
+ * This record represents a played game: the starting grid and the movements of the player.
+ * <p>
+ * In the binary format every record is stored as: grid size (byte), number of movements (int),
+ * the starting cells packed by {@link PackedCells}, and the movements packed with 2 bits each (see {@link PackedMoves}).
+ * A 4x4 game takes 13 bytes plus 8 bytes every 32 movements.
+ *
+ * @param gridSize the number of rows and columns of the grid
+ * @param start the starting cells row by row, 0 for the empty cell
+ * @param moves the packed movements
+ * @param moveCount the number of movements
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public record GameRecord(int gridSize, int[] start, long[] moves, int moveCount) {
+
+    /**
+     * Constructor method
+     *
+     * @throws IllegalArgumentException if the size is not valid or the arrays don't match the size and the number of movements
+     */
+    public GameRecord {
+        if (gridSize < GameBoard.MIN_SIZE || gridSize > GameBoard.MAX_SIZE) throw new IllegalArgumentException("The grid size must be in the " + GameBoard.MIN_SIZE + "-" + GameBoard.MAX_SIZE + " range!");
+        if (start == null || start.length != gridSize * gridSize) throw new IllegalArgumentException("The grid must have " + gridSize * gridSize + " cells!");
+        if (moves == null || moveCount < 0 || PackedMoves.words(moveCount) > moves.length) throw new IllegalArgumentException("The movements don't match their count!");
+    }
+
+    /**
+     * Creates a record from the starting board and the movements applied to it
+     *
+     * @param start the board before the first movement
+     * @param moves the movements
+     * @return the record
+     */
+    public static GameRecord of(GameBoard start, List<SlidingDirection> moves) {
+        if (start == null) throw new IllegalArgumentException("Board can't be null!");
+        return new GameRecord(start.getGridSize(), start.getCells(), PackedMoves.pack(moves), moves.size());
+    }
+
+    /**
+     * Builds the starting board
+     *
+     * @return a new board with the starting cells
+     * @throws IllegalArgumentException if the starting cells are not a solvable grid
+     */
+    public GameBoard startBoard() {
+        return GameBoard.of(this.gridSize, this.start);
+    }
+
+    /**
+     * Returns the movements
+     * @return the movements in order
+     */
+    public List<SlidingDirection> moveList() {
+        return PackedMoves.unpack(this.moves, this.moveCount);
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Records;
+
+import it.GTFV.GameOfFifteen.Game.GameBoard;
+import it.GTFV.GameOfFifteen.Models.PackedCells;
+import it.GTFV.GameOfFifteen.Models.PackedMoves;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * This class streams the records of a game archive written by {@link GameRecordWriter}.
+ * The file is memory mapped one window at a time, so archives bigger than 2 GB are supported,
+ * and the fields of the current record are read straight from the mapping.
+ * A reader is not thread safe: concurrent consumers should open a reader each and {@link #seek}
+ * to the offsets returned by {@link #index}.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public class GameRecordReader implements Closeable {
+
+    private static final long WINDOW = 1L << 30;
+    private static final int RECORD_HEADER_BYTES = Byte.BYTES + Integer.BYTES;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long windowEnd;
+    private long next; // offset of the next record
+    private long offset; // offset of the current record
+    private int gridSize;
+    private int moveCount;
+    private long[] scratch = new long[1];
+
+    /**
+     * Constructor method
+     *
+     * @param file the archive file
+     * @throws IOException if the file can't be read or it is not a game archive
+     */
+    public GameRecordReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.fileSize = this.channel.size();
+        try {
+            if (this.fileSize < GameRecordWriter.HEADER_BYTES) throw new IOException("Not a game archive: " + file);
+            map(0, GameRecordWriter.HEADER_BYTES);
+            if (this.window.getInt(0) != GameRecordWriter.MAGIC) throw new IOException("Not a game archive: " + file);
+            if (this.window.getShort(Integer.BYTES) != GameRecordWriter.VERSION) throw new IOException("Unsupported game archive version: " + file);
+        } catch (IOException e) {
+            this.channel.close();
+            throw e;
+        }
+        this.next = GameRecordWriter.HEADER_BYTES;
+    }
+
+    /**
+     * Returns the offsets of all the records of an archive, reading only their headers
+     *
+     * @param file the archive file
+     * @return the offset of every record, in order
+     * @throws IOException if the file can't be read or it is corrupted
+     */
+    public static long[] index(Path file) throws IOException {
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            long[] offsets = new long[1024];
+            int count = 0;
+            while (reader.next()) {
+                if (count == offsets.length) offsets = Arrays.copyOf(offsets, count * 2);
+                offsets[count++] = reader.getOffset();
+            }
+            return Arrays.copyOf(offsets, count);
+        }
+    }
+
+    /**
+     * Moves to the next record
+     *
+     * @return false if there are no more records
+     * @throws IOException if the archive is corrupted
+     */
+    public boolean next() throws IOException {
+        if (this.next >= this.fileSize) return false;
+        if (this.next + RECORD_HEADER_BYTES > this.fileSize) throw new IOException("Truncated record at offset " + this.next);
+
+        ensure(this.next, RECORD_HEADER_BYTES);
+        int size = this.window.get(index(this.next));
+        int moves = this.window.getInt(index(this.next + 1));
+        if (size < GameBoard.MIN_SIZE || size > GameBoard.MAX_SIZE || moves < 0) throw new IOException("Corrupted record at offset " + this.next);
+
+        long moveWords = ((long) moves + PackedMoves.MOVES_PER_WORD - 1) / PackedMoves.MOVES_PER_WORD; // in long, a corrupted count must not overflow
+        long length = RECORD_HEADER_BYTES + Long.BYTES * (PackedCells.words(size) + moveWords);
+        if (length < RECORD_HEADER_BYTES) throw new IOException("Corrupted record at offset " + this.next);
+        if (length > this.fileSize - this.next) throw new IOException("Truncated record at offset " + this.next);
+        if (length > WINDOW) throw new IOException("Record too big at offset " + this.next);
+        ensure(this.next, (int) length);
+
+        this.offset = this.next;
+        this.gridSize = size;
+        this.moveCount = moves;
+        this.next += length;
+        return true;
+    }
+
+    /**
+     * Moves to the record at the given offset; the following {@link #next} reads it
+     *
+     * @param offset the offset of a record, see {@link #index}
+     */
+    public void seek(long offset) {
+        if (offset < GameRecordWriter.HEADER_BYTES || offset > this.fileSize) throw new IllegalArgumentException("Offset out of the archive!");
+        this.next = offset;
+    }
+
+    /**
+     * Reads the starting cells of the current record
+     *
+     * @param into the array that receives the cells, at least {@code gridSize * gridSize} long
+     */
+    public void readStart(int[] into) {
+        int words = PackedCells.words(this.gridSize);
+        if (this.scratch.length < words) this.scratch = new long[words];
+        long position = this.offset + RECORD_HEADER_BYTES;
+        for (int i = 0; i < words; i++) {
+            this.scratch[i] = this.window.getLong(index(position + (long) i * Long.BYTES));
+        }
+        PackedCells.unpack(this.gridSize, this.scratch, into);
+    }
+
+    /**
+     * Reads the packed movements of the current record
+     *
+     * @param into the array that receives the movements, at least {@code PackedMoves.words(moveCount)} long
+     */
+    public void readMoves(long[] into) {
+        long position = this.offset + RECORD_HEADER_BYTES + (long) Long.BYTES * PackedCells.words(this.gridSize);
+        for (int i = 0; i < PackedMoves.words(this.moveCount); i++) {
+            into[i] = this.window.getLong(index(position + (long) i * Long.BYTES));
+        }
+    }
+
+    /**
+     * Copies the current record into a new object
+     *
+     * @return the current record
+     */
+    public GameRecord read() {
+        int[] start = new int[this.gridSize * this.gridSize];
+        long[] moves = new long[PackedMoves.words(this.moveCount)];
+        readStart(start);
+        readMoves(moves);
+        return new GameRecord(this.gridSize, start, moves, this.moveCount);
+    }
+
+    public int getGridSize() {
+        return this.gridSize;
+    }
+
+    public int getMoveCount() {
+        return this.moveCount;
+    }
+
+    /**
+     * Returns the offset of the current record in the file
+     * @return the offset of the current record
+     */
+    public long getOffset() {
+        return this.offset;
+    }
+
+    /**
+     * Maps a new window if the given range is not inside the current one
+     */
+    private void ensure(long position, int length) throws IOException {
+        if (this.window == null || position < this.windowStart || position + length > this.windowEnd) {
+            map(position, (int) Math.min(WINDOW, this.fileSize - position));
+        }
+    }
+
+    private void map(long position, int length) throws IOException {
+        this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        this.windowStart = position;
+        this.windowEnd = position + length;
+    }
+
+    private int index(long position) {
+        return (int) (position - this.windowStart);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Records;
+
+import it.GTFV.GameOfFifteen.Models.PackedCells;
+import it.GTFV.GameOfFifteen.Models.PackedMoves;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * This class writes game archives: a header (magic {@code "GOFR"} and version, big endian)
+ * followed by the records one after the other, see {@link GameRecord} for their layout.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public class GameRecordWriter implements Closeable {
+
+    static final int MAGIC = 0x474F4652; // "GOFR"
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = Integer.BYTES + Short.BYTES;
+
+    private final DataOutputStream out;
+    private long[] scratch = new long[1];
+    private long records;
+
+    /**
+     * Constructor method
+     * Creates the archive, replacing an existing file
+     *
+     * @param file the archive file
+     * @throws IOException in case of output errors
+     */
+    public GameRecordWriter(Path file) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        this.out.writeInt(MAGIC);
+        this.out.writeShort(VERSION);
+    }
+
+    /**
+     * Appends a record to the archive
+     *
+     * @param record the game to store
+     * @throws IOException in case of output errors
+     */
+    public void write(GameRecord record) throws IOException {
+        if (record == null) throw new IllegalArgumentException("Record can't be null!");
+        int startWords = PackedCells.words(record.gridSize());
+        if (this.scratch.length < startWords) this.scratch = new long[startWords];
+        PackedCells.pack(record.gridSize(), record.start(), this.scratch);
+
+        this.out.writeByte(record.gridSize());
+        this.out.writeInt(record.moveCount());
+        for (int i = 0; i < startWords; i++) this.out.writeLong(this.scratch[i]);
+        long[] moves = record.moves();
+        for (int i = 0; i < PackedMoves.words(record.moveCount()); i++) this.out.writeLong(moves[i]);
+        this.records++;
+    }
+
+    /**
+     * Returns the number of records written so far
+     * @return the number of records
+     */
+    public long getRecordCount() {
+        return this.records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.out.close();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Records;
+
+import it.GTFV.GameOfFifteen.Game.GameBoard;
+import it.GTFV.GameOfFifteen.Models.PackedMoves;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * This class validates every game of an archive against the rules of {@link GameBoard}:
+ * the starting grid must be a solvable permutation and every movement must be possible.
+ * The archive is indexed first, then its records are replayed in parallel on all the cores.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public final class RecordReplay {
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private RecordReplay() {
+    }
+
+    /**
+     * The outcome of a replay
+     *
+     * @param records the number of games in the archive
+     * @param valid the number of games that respect the rules
+     * @param solved the number of valid games that end with the grid solved
+     * @param invalid the number of games with an invalid starting grid or an impossible movement
+     */
+    public record Summary(long records, long valid, long solved, long invalid) {
+    }
+
+    /**
+     * Replays an archive from the command line and prints the summary
+     *
+     * @param args the path of the archive
+     * @throws IOException if the archive can't be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) throw new IllegalArgumentException("Usage: RecordReplay <archive>");
+        long start = System.currentTimeMillis();
+        Summary summary = replay(Path.of(args[0]));
+        System.out.println(summary + " in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * Replays all the games of an archive in parallel
+     *
+     * @param file the archive file
+     * @return the number of valid, solved and invalid games
+     * @throws IOException if the archive can't be read or it is corrupted
+     */
+    public static Summary replay(Path file) throws IOException {
+        long[] offsets = GameRecordReader.index(file);
+        int chunks = Math.max(1, Math.min(offsets.length, Runtime.getRuntime().availableProcessors() * CHUNKS_PER_THREAD));
+        LongAdder valid = new LongAdder();
+        LongAdder solved = new LongAdder();
+
+        try {
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int from = (int) ((long) offsets.length * chunk / chunks);
+                int to = (int) ((long) offsets.length * (chunk + 1) / chunks);
+                try (GameRecordReader reader = new GameRecordReader(file)) {
+                    int[] start = new int[0];
+                    long[] moves = new long[0];
+                    for (int i = from; i < to; i++) {
+                        reader.seek(offsets[i]);
+                        reader.next();
+                        int nCells = reader.getGridSize() * reader.getGridSize();
+                        if (start.length != nCells) start = new int[nCells];
+                        if (moves.length < PackedMoves.words(reader.getMoveCount())) moves = new long[PackedMoves.words(reader.getMoveCount())];
+                        reader.readStart(start);
+                        reader.readMoves(moves);
+
+                        GameBoard board;
+                        try {
+                            board = GameBoard.of(reader.getGridSize(), start);
+                        } catch (IllegalArgumentException e) {
+                            continue; // invalid starting grid
+                        }
+                        if (board.applyAll(moves, reader.getMoveCount()) != reader.getMoveCount()) continue; // no history, nothing is undone
+                        valid.increment();
+                        if (board.isSolved()) solved.increment();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return new Summary(offsets.length, valid.sum(), solved.sum(), offsets.length - valid.sum());
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Solver;
+
+import it.GTFV.GameOfFifteen.Game.GameBoard;
+import it.GTFV.GameOfFifteen.Metrics.Metrics;
+import it.GTFV.GameOfFifteen.Metrics.MetricsRecorder;
+import it.GTFV.GameOfFifteen.Models.NeighborTable;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * This class finds optimal solutions with a bidirectional breadth-first search, from the board
+ * and from the solved grid at the same time, until the two frontiers meet.
+ * Grids are packed in a {@code long} (4 bits per cell), so only boards up to 4x4 are supported,
+ * and every visited grid is stored in a primitive hash map together with the movement that reached it.
+ * The smaller frontier is always expanded first, one whole layer at a time; since no grid was shared
+ * before that layer, the first meeting grid gives a shortest solution.
+ * <p>
+ * It explores far fewer grids than a unidirectional search on medium-depth boards, and it is an
+ * independent engine that can be used to cross-check the length of the IDA* solutions.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public class BidirectionalSolver {
+
+    public static final int DEFAULT_MAX_STATES = 1 << 25;
+
+    private static final SlidingDirection[] DIRECTIONS = SlidingDirection.values();
+    private static final byte ROOT = (byte) DIRECTIONS.length; // marks the grid a search started from
+
+    private final int maxStates;
+    private long expandedNodes;
+
+    /**
+     * Constructor method
+     * Limits the search to {@code DEFAULT_MAX_STATES} visited grids
+     */
+    public BidirectionalSolver() {
+        this(DEFAULT_MAX_STATES);
+    }
+
+    /**
+     * Constructor method
+     *
+     * @param maxStates the maximum number of grids the two searches can visit together
+     * @throws IllegalArgumentException if maxStates is not positive
+     */
+    public BidirectionalSolver(int maxStates) {
+        if (maxStates <= 0) throw new IllegalArgumentException("The maximum number of states must be greater than 0!");
+        this.maxStates = maxStates;
+    }
+
+    /**
+     * Finds a shortest sequence of movements that solves the board.
+     * The board itself is not modified.
+     *
+     * @param board the board to solve
+     * @return the movements to apply in order, empty if the board is already solved
+     * @throws IllegalArgumentException if board is null or bigger than 4x4
+     * @throws IllegalStateException if the search visits more than the allowed number of grids
+     */
+    public List<SlidingDirection> solve(GameBoard board) {
+        if (board == null) throw new IllegalArgumentException("Board can't be null!");
+        int size = board.getGridSize();
+        if (size * size > 16) throw new IllegalArgumentException("Only grids up to 4x4 can be packed in a long!");
+
+        long start = System.nanoTime();
+        int[] cells = board.getCells();
+        NeighborTable table = NeighborTable.of(size);
+        Side forward = new Side(pack(cells), IdaSearch.blankOf(cells), table);
+        Side backward = new Side(goal(size), size * size - 1, table);
+        this.expandedNodes = 0;
+
+        long meeting = forward.frontier[0] == backward.frontier[0] ? forward.frontier[0] : 0;
+        while (meeting == 0) {
+            if (forward.count == 0 || backward.count == 0) throw new IllegalArgumentException("The board is not solvable!");
+            if (forward.visited.size() + backward.visited.size() > this.maxStates) throw new IllegalStateException("The search exceeded " + this.maxStates + " states!");
+
+            Side side = forward.count <= backward.count ? forward : backward;
+            this.expandedNodes += side.count;
+            meeting = side.expand(side == forward ? backward : forward);
+        }
+
+        // From the meeting grid, walk back to the board and forward to the solved grid
+        Deque<SlidingDirection> moves = new ArrayDeque<>();
+        for (long state = meeting; ; ) {
+            int move = forward.visited.get(state);
+            if (move == ROOT) break;
+            moves.addFirst(DIRECTIONS[move]);
+            state = slide(state, table, move ^ 1);
+        }
+        for (long state = meeting; ; ) {
+            int move = backward.visited.get(state);
+            if (move == ROOT) break;
+            moves.addLast(DIRECTIONS[move ^ 1]);
+            state = slide(state, table, move ^ 1);
+        }
+        MetricsRecorder metrics = Metrics.recorder();
+        if (metrics != null) metrics.solved("BidirectionalSolver", size, moves.size(), this.expandedNodes, 0, System.nanoTime() - start);
+        return List.copyOf(moves);
+    }
+
+    /**
+     * Returns the number of grids expanded by the last search, on both sides
+     * @return the number of expanded nodes
+     */
+    public long getExpandedNodes() {
+        return this.expandedNodes;
+    }
+
+    /**
+     * Packs a grid in a long, 4 bits per cell
+     */
+    static long pack(int[] cells) {
+        long packed = 0;
+        for (int i = 0; i < cells.length; i++) {
+            packed |= (long) cells[i] << (i << 2);
+        }
+        return packed;
+    }
+
+    private static long goal(int size) {
+        long packed = 0;
+        for (int i = 0; i < size * size; i++) {
+            packed |= (long) ((i + 1) % (size * size)) << (i << 2);
+        }
+        return packed;
+    }
+
+    /**
+     * Applies a movement to a packed grid
+     *
+     * @param state the packed grid
+     * @param table the movements of the grid size
+     * @param direction the ordinal of the direction, it must be possible
+     * @return the new packed grid
+     */
+    private static long slide(long state, NeighborTable table, int direction) {
+        int blank = 0;
+        while (((state >>> (blank << 2)) & 0xF) != 0) blank++;
+        return slide(state, blank, table.neighbor(blank, direction));
+    }
+
+    private static long slide(long state, int blank, int to) {
+        long value = (state >>> (to << 2)) & 0xFL;
+        return (state & ~(0xFL << (to << 2))) | (value << (blank << 2));
+    }
+
+    /**
+     * One of the two searches: its visited grids and its current layer
+     */
+    private static final class Side {
+        private final NeighborTable table;
+        private final LongByteMap visited = new LongByteMap(1 << 12);
+        private long[] frontier = new long[1];
+        private byte[] blanks = new byte[1]; // empty cell (low 4 bits) and last movement (high bits) of every grid
+        private int count = 1;
+
+        private Side(long start, int blank, NeighborTable table) {
+            this.table = table;
+            this.frontier[0] = start;
+            this.blanks[0] = (byte) (blank | ROOT << 4);
+            this.visited.putIfAbsent(start, ROOT);
+        }
+
+        /**
+         * Expands the whole current layer
+         *
+         * @param other the search coming from the other end
+         * @return the first generated grid already visited by the other search, 0 if there is none
+         */
+        private long expand(Side other) {
+            long[] next = new long[Math.max(16, this.count * 2)];
+            byte[] nextBlanks = new byte[next.length];
+            int nextCount = 0;
+
+            for (int i = 0; i < this.count; i++) {
+                long state = this.frontier[i];
+                int blank = this.blanks[i] & 0xF;
+                int previous = this.blanks[i] >>> 4;
+                for (int d = 0; d < DIRECTIONS.length; d++) {
+                    if (d == (previous ^ 1)) continue; // never undo the last movement
+                    int to = this.table.neighbor(blank, d);
+                    if (to < 0) continue;
+
+                    long child = slide(state, blank, to);
+                    if (!this.visited.putIfAbsent(child, (byte) d)) continue;
+                    if (other.visited.contains(child)) return child;
+
+                    if (nextCount == next.length) {
+                        next = Arrays.copyOf(next, next.length * 2);
+                        nextBlanks = Arrays.copyOf(nextBlanks, next.length);
+                    }
+                    next[nextCount] = child;
+                    nextBlanks[nextCount++] = (byte) (to | d << 4);
+                }
+            }
+            this.frontier = next;
+            this.blanks = nextBlanks;
+            this.count = nextCount;
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Solver;
+
+/**
+ * This interface represents an admissible estimate of the number of movements
+ * needed to solve a grid.
+ * Implementations keep their own state, so that the search can update the estimate
+ * after every slide instead of evaluating the whole grid again.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public interface Heuristic {
+
+    /**
+     * Returns true if the heuristic can evaluate grids of the given size
+     *
+     * @param size the number of rows and columns of the grid
+     * @return true if the size is supported
+     */
+    boolean supports(int size);
+
+    /**
+     * Evaluates the whole grid and resets the internal state
+     *
+     * @param cells the values of the cells row by row, 0 for the empty cell
+     * @param size the number of rows and columns of the grid
+     * @return the estimated number of movements to the solution
+     */
+    int initialize(int[] cells, int size);
+
+    /**
+     * Updates the estimate after a slide.
+     * The grid is already updated: the tile that was in {@code to} is now in {@code from},
+     * and {@code to} is the new empty cell. Undoing a slide is just another slide.
+     *
+     * @param cells the values of the cells row by row, 0 for the empty cell
+     * @param from the cell that was empty and now holds the moved tile
+     * @param to the cell that held the moved tile and is now empty
+     * @return the estimated number of movements to the solution
+     */
+    int update(int[] cells, int from, int to);
+
+    /**
+     * Returns an independent heuristic with the same state, so that another search can use it
+     *
+     * @return a copy of this heuristic
+     */
+    Heuristic copy();
+}
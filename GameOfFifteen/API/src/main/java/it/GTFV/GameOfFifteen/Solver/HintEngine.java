@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Solver;
+
+import it.GTFV.GameOfFifteen.Game.GameBoard;
+import it.GTFV.GameOfFifteen.Game.Zobrist;
+import it.GTFV.GameOfFifteen.Models.NeighborTable;
+import it.GTFV.GameOfFifteen.Models.PackedMoves;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * This class gives hints for a game board, reusing the same optimal plan across the moves of the player.
+ * The plan is stored with the Zobrist hash of every grid it goes through, indexed by a hash map,
+ * so the engine recognizes where the board is along the plan without comparing grids:
+ * <ul>
+ *     <li>if the player followed the plan (or went back along it) the hint is read from the plan in O(1);</li>
+ *     <li>if the player deviated, a search limited to {@code REPAIR_DEPTH} movements looks for the cheapest way
+ *     back to any grid of the plan, and the plan continues from there;</li>
+ *     <li>only when the board is farther than that from the plan it is solved again from scratch,
+ *     expanding at most {@code SOLVE_BUDGET} nodes.</li>
+ * </ul>
+ * A repaired plan can be a few movements longer than an optimal one, but it always solves the board.
+ * When the budget runs out, which is common for 5x5 and bigger grids and rare for 4x4 ones, there is no plan:
+ * the hint is the movement that lowers the Manhattan distance with linear conflicts the most, without
+ * going back to the grid of the previous such hint, and the next hint tries to solve the board again.
+ * A hint never takes much longer than the budget, but on big grids it is not always on a shortest path.
+ * The engine is not thread safe and must be used by the thread that moves the board.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public class HintEngine {
+
+    public static final int REPAIR_DEPTH = 6;
+    public static final long SOLVE_BUDGET = 1L << 23; // expanded nodes
+
+    private static final SlidingDirection[] DIRECTIONS = SlidingDirection.values();
+
+    private final GameBoard board;
+    private final Solver solver;
+    private final SolutionCache cache; // may be null
+    private final NeighborTable table;
+    private final Zobrist zobrist;
+    private long[] plan = new long[0]; // movements of the plan, 2 bits each
+    private long[] hashes = new long[0]; // hash of the grid before every movement of the plan
+    private LongLongMap positions = new LongLongMap(0); // index in the plan of every hash, the first one if repeated
+    private int length;
+    private int cursor; // index of the next movement of the plan
+
+    // state of the repair search
+    private int[] cells;
+    private long hash;
+    private final byte[] detour = new byte[REPAIR_DEPTH];
+    private final byte[] bestDetour = new byte[REPAIR_DEPTH];
+    private int bestDepth;
+    private int bestIndex;
+    private int bestLength;
+
+    // the estimate that chooses the hint when the board can't be solved within the budget
+    private final Heuristic greedy = new LinearConflictHeuristic();
+    private long greedyAt; // hash of the grid of the last greedy hint
+    private long greedyFrom; // hash of the grid of the greedy hint before it
+
+    private long repairs;
+    private long solves;
+
+    /**
+     * Constructor method
+     * Solves the board with the default {@link Solver}
+     *
+     * @param board the board to give hints for
+     * @throws IllegalArgumentException if board is null
+     */
+    public HintEngine(GameBoard board) {
+        this(board, new Solver());
+    }
+
+    /**
+     * Constructor method
+     *
+     * @param board the board to give hints for
+     * @param solver the solver used when the plan can't be repaired
+     * @throws IllegalArgumentException if board or solver are null
+     */
+    public HintEngine(GameBoard board, Solver solver) {
+        this(board, solver, null);
+    }
+
+    /**
+     * Constructor method
+     *
+     * @param board the board to give hints for
+     * @param solver the solver used when the plan can't be repaired
+     * @param cache the cache looked up before solving the board from scratch, may be null
+     * @throws IllegalArgumentException if board or solver are null
+     */
+    public HintEngine(GameBoard board, Solver solver, SolutionCache cache) {
+        if (board == null) throw new IllegalArgumentException("Board can't be null!");
+        if (solver == null) throw new IllegalArgumentException("Solver can't be null!");
+        this.board = board;
+        this.solver = solver;
+        this.cache = cache;
+        this.table = NeighborTable.of(board.getGridSize());
+        this.zobrist = Zobrist.of(board.getGridSize());
+    }
+
+    /**
+     * Returns the next movement towards the solution
+     *
+     * @return the direction to move, or {@code null} if the board is already solved
+     */
+    public SlidingDirection nextHint() {
+        if (this.board.isSolved()) return null;
+        long current = this.board.getZobristHash();
+        if (!follow(current) && !repair(current) && !solve()) return greedyHint(current);
+        return DIRECTIONS[PackedMoves.get(this.plan, this.cursor)];
+    }
+
+    /**
+     * Returns the movements of the plan from the current board, computing it if needed
+     *
+     * @return the remaining movements, empty if the board is already solved;
+     *         only the next movement if the board could not be solved within {@code SOLVE_BUDGET} nodes
+     */
+    public List<SlidingDirection> remainingPlan() {
+        SlidingDirection hint = nextHint();
+        if (hint == null) return List.of();
+        if (this.length == 0) return List.of(hint);
+        SlidingDirection[] moves = new SlidingDirection[this.length - this.cursor];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = DIRECTIONS[PackedMoves.get(this.plan, this.cursor + i)];
+        }
+        return List.of(moves);
+    }
+
+    /**
+     * Looks for the board along the plan: first at the cursor and at the next grid, the usual cases, then in the index
+     *
+     * @param current the hash of the board
+     * @return true if the board is on the plan, the cursor is moved to it
+     */
+    private boolean follow(long current) {
+        if (this.cursor < this.length && this.hashes[this.cursor] == current) return true;
+        if (this.cursor + 1 < this.length && this.hashes[this.cursor + 1] == current) {
+            this.cursor++;
+            return true;
+        }
+        int index = indexOf(current);
+        if (index < 0) return false;
+        this.cursor = index;
+        return true;
+    }
+
+    /**
+     * Returns the index of a grid in the plan
+     *
+     * @param hash the Zobrist hash of the grid
+     * @return the index of its first occurrence, -1 if it is not on the plan
+     */
+    private int indexOf(long hash) {
+        if (hash == 0) return -1; // never indexed, see setPlan
+        return (int) this.positions.get(hash);
+    }
+
+    /**
+     * Searches the grids up to {@code REPAIR_DEPTH} movements away from the board for one of the plan,
+     * choosing the one that gives the shortest total plan
+     *
+     * @param current the hash of the board
+     * @return true if the plan has been repaired
+     */
+    private boolean repair(long current) {
+        if (this.length == 0) return false;
+        this.cells = this.board.getCells();
+        this.hash = current;
+        this.bestLength = Integer.MAX_VALUE;
+        search(this.board.getEmptyPosition().index(), 0, -1);
+        if (this.bestLength == Integer.MAX_VALUE) return false;
+
+        long[] moves = new long[PackedMoves.words(this.bestLength)];
+        for (int i = 0; i < this.bestDepth; i++) {
+            PackedMoves.set(moves, i, this.bestDetour[i]);
+        }
+        for (int i = this.bestIndex; i < this.length; i++) {
+            PackedMoves.set(moves, this.bestDepth + i - this.bestIndex, PackedMoves.get(this.plan, i));
+        }
+        setPlan(moves, this.bestLength);
+        this.repairs++;
+        return true;
+    }
+
+    private void search(int blank, int depth, int previous) {
+        if (depth > 0) {
+            int i = indexOf(this.hash);
+            if (i >= 0) {
+                int total = depth + this.length - i;
+                if (total < this.bestLength) {
+                    this.bestLength = total;
+                    this.bestDepth = depth;
+                    this.bestIndex = i;
+                    System.arraycopy(this.detour, 0, this.bestDetour, 0, depth);
+                }
+                return; // from a grid of the plan, following the plan is the best we know
+            }
+        }
+        if (depth == REPAIR_DEPTH) return;
+
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            if (d == (previous ^ 1)) continue;
+            int to = this.table.neighbor(blank, d);
+            if (to < 0) continue;
+
+            long delta = this.zobrist.delta(this.cells[to], blank, to);
+            swap(this.cells, blank, to);
+            this.hash ^= delta;
+            this.detour[depth] = (byte) d;
+            search(to, depth + 1, d);
+            this.hash ^= delta;
+            swap(this.cells, blank, to);
+        }
+    }
+
+    private static void swap(int[] grid, int a, int b) {
+        int value = grid[a];
+        grid[a] = grid[b];
+        grid[b] = value;
+    }
+
+    /**
+     * Solves the board from scratch, giving up after {@code SOLVE_BUDGET} expanded nodes
+     *
+     * @return true if the board has been solved, false if the budget ran out and there is no plan
+     */
+    private boolean solve() {
+        SearchMonitor budget = (bound, expandedNodes) -> expandedNodes < SOLVE_BUDGET;
+        List<SlidingDirection> solution;
+        try {
+            solution = this.cache == null ? this.solver.solve(this.board, budget)
+                    : this.cache.solve(this.board, board -> this.solver.solve(board, budget));
+        } catch (CancellationException e) {
+            setPlan(new long[0], 0);
+            return false;
+        }
+        setPlan(PackedMoves.pack(solution), solution.size());
+        this.solves++;
+        return true;
+    }
+
+    /**
+     * Chooses the movement that lowers the estimate of the heuristic the most,
+     * never going back to the grid of the previous greedy hint
+     *
+     * @param current the hash of the board
+     * @return the direction to move
+     */
+    private SlidingDirection greedyHint(long current) {
+        if (current != this.greedyAt) { // asking twice on the same grid gives the same hint
+            this.greedyFrom = this.greedyAt;
+            this.greedyAt = current;
+        }
+        int[] grid = this.board.getCells();
+        int size = this.board.getGridSize();
+        int blank = this.board.getEmptyPosition().index();
+        int best = -1;
+        int bestEstimate = Integer.MAX_VALUE;
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            int to = this.table.neighbor(blank, d);
+            if (to < 0) continue;
+            if ((current ^ this.zobrist.delta(grid[to], blank, to)) == this.greedyFrom) continue; // every cell has another neighbor
+
+            swap(grid, blank, to);
+            int estimate = this.greedy.initialize(grid, size);
+            swap(grid, blank, to);
+            if (estimate < bestEstimate) {
+                best = d;
+                bestEstimate = estimate;
+            }
+        }
+        return DIRECTIONS[best];
+    }
+
+    /**
+     * Replaces the plan, computing the hashes of the grids it goes through from the current board
+     *
+     * @param moves the packed movements
+     * @param count the number of movements
+     */
+    private void setPlan(long[] moves, int count) {
+        int[] grid = this.board.getCells();
+        int blank = this.board.getEmptyPosition().index();
+        long current = this.board.getZobristHash();
+        long[] states = new long[count];
+        for (int i = 0; i < count; i++) {
+            states[i] = current;
+            int to = this.table.neighbor(blank, PackedMoves.get(moves, i));
+            current ^= this.zobrist.delta(grid[to], blank, to);
+            grid[blank] = grid[to];
+            grid[to] = 0;
+            blank = to;
+        }
+        LongLongMap index = new LongLongMap(count);
+        for (int i = count - 1; i >= 0; i--) {
+            if (states[i] != 0) index.put(states[i], i); // 0 can't be a key, such a grid is just never found
+        }
+        this.plan = moves;
+        this.hashes = states;
+        this.positions = index;
+        this.length = count;
+        this.cursor = 0;
+    }
+
+    /**
+     * Returns the number of times the plan has been repaired
+     * @return the number of repairs
+     */
+    public long getRepairCount() {
+        return this.repairs;
+    }
+
+    /**
+     * Returns the number of times the board has been solved from scratch
+     * @return the number of full solutions
+     */
+    public long getSolveCount() {
+        return this.solves;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Solver;
+
+import it.GTFV.GameOfFifteen.Game.Zobrist;
+import it.GTFV.GameOfFifteen.Models.NeighborTable;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class implements the depth-first search of a single IDA* iteration.
+ * The search works in place on its own grid: every movement is applied and then undone,
+ * so nothing is copied or allocated while exploring the tree.
+ * With a {@link TranspositionTable} the search also keeps the Zobrist hash of its grid,
+ * and skips the grids already reached in the same iteration at a smaller or equal depth.
+ * It is shared by the sequential and the parallel solvers.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+final class IdaSearch {
+
+    static final SlidingDirection[] DIRECTIONS = SlidingDirection.values();
+    static final int FOUND = -1;
+    static final int CANCELLED = -2;
+
+    private final int[] cells;
+    private final NeighborTable table;
+    private final Heuristic heuristic;
+    private final AtomicBoolean stop; // raised when another search found the solution, may be null
+    private final TranspositionTable transpositions; // may be null
+    private final Zobrist zobrist;
+    private SearchMonitor monitor; // may be null
+    private int bound;
+    private int generation;
+    private long hash;
+    private int blank;
+    private byte[] path; // directions of the current branch
+    private long expandedNodes;
+    private long heuristicEvaluations; // one per generated grid, the restores on backtracking are not counted
+
+    /**
+     * Constructor method
+     *
+     * @param cells the grid to search from, it is modified during the search
+     * @param size the number of rows and columns of the grid
+     * @param heuristic the heuristic, already initialized on {@code cells}
+     * @param stop flag checked at every node to abandon the search, may be null
+     * @param transpositions the table of the grids already reached, may be null
+     */
+    IdaSearch(int[] cells, int size, Heuristic heuristic, AtomicBoolean stop, TranspositionTable transpositions) {
+        this.cells = cells;
+        this.table = NeighborTable.of(size);
+        this.heuristic = heuristic;
+        this.stop = stop;
+        this.transpositions = transpositions;
+        this.zobrist = transpositions == null ? null : Zobrist.of(size);
+        this.hash = transpositions == null ? 0 : this.zobrist.hash(cells);
+        this.blank = blankOf(cells);
+    }
+
+    /**
+     * Runs one iteration of the search
+     *
+     * @param prefix the movements that led to the grid, copied at the start of the path
+     * @param depth the length of the prefix
+     * @param bound the maximum cost allowed in this iteration
+     * @param h the estimate of the grid
+     * @param previous the ordinal of the last direction of the prefix, -1 if there is none
+     * @param generation the generation of the transposition table used by this iteration, ignored without a table
+     * @return {@code FOUND} if the grid has been solved, {@code CANCELLED} if the search was stopped,
+     *         otherwise the smallest cost that exceeded the bound
+     */
+    int iterate(byte[] prefix, int depth, int bound, int h, int previous, int generation) {
+        this.generation = generation;
+        this.bound = bound;
+        this.path = new byte[Math.max(bound, depth)];
+        if (prefix != null) System.arraycopy(prefix, 0, this.path, 0, depth);
+        return search(depth, bound, h, previous);
+    }
+
+    /**
+     * Depth-first search limited by {@code bound}
+     *
+     * @param depth the number of movements of the current branch
+     * @param bound the maximum cost allowed in this iteration
+     * @param h the estimate of the current grid
+     * @param previous the ordinal of the last direction, -1 at the root
+     * @return {@code FOUND}, {@code CANCELLED} or the smallest cost that exceeded the bound
+     */
+    private int search(int depth, int bound, int h, int previous) {
+        int f = depth + h;
+        if (f > bound) return f;
+        if (h == 0 && isGoal()) return FOUND;
+        if (this.stop != null && this.stop.get()) return CANCELLED;
+        // an earlier visit with a bigger budget covers the whole subtree, including its smallest exceeding cost
+        if (this.transpositions != null && this.transpositions.visit(this.hash, depth, this.generation)) return Integer.MAX_VALUE;
+
+        this.expandedNodes++;
+        if (this.monitor != null && (this.expandedNodes & (SearchMonitor.INTERVAL - 1)) == 0
+                && !this.monitor.onProgress(this.bound, this.expandedNodes)) return CANCELLED;
+        int min = Integer.MAX_VALUE;
+        int from = this.blank;
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            if (d == (previous ^ 1)) continue; // never undo the last movement (UP/DOWN and LEFT/RIGHT differ in the lowest bit)
+            int to = this.table.neighbor(from, d);
+            if (to < 0) continue;
+
+            slide(from, to);
+            this.heuristicEvaluations++;
+            int result = search(depth + 1, bound, this.heuristic.update(this.cells, from, to), d);
+            if (result == FOUND) {
+                this.path[depth] = (byte) d;
+                return FOUND;
+            }
+            slide(to, from);
+            this.heuristic.update(this.cells, to, from);
+            if (result == CANCELLED) return CANCELLED;
+            if (result < min) min = result;
+        }
+        return min;
+    }
+
+    /**
+     * Moves the tile in the cell {@code to} into the empty cell {@code from}
+     */
+    private void slide(int from, int to) {
+        int value = this.cells[to];
+        this.cells[from] = value;
+        this.cells[to] = 0;
+        this.blank = to;
+        if (this.zobrist != null) this.hash ^= this.zobrist.delta(value, from, to);
+    }
+
+    private boolean isGoal() {
+        for (int i = 0; i < this.cells.length; i++) {
+            if (this.cells[i] != (i + 1) % this.cells.length) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Sets the monitor that receives the progress of the search
+     *
+     * @param monitor the monitor, null to remove it
+     */
+    void setMonitor(SearchMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    /**
+     * Returns the path found by the last iteration
+     *
+     * @param length the length of the solution (the bound of the successful iteration)
+     * @return the movements to apply in order
+     */
+    List<SlidingDirection> solution(int length) {
+        return toList(this.path, length);
+    }
+
+    /**
+     * Returns the directions of the current branch, as ordinals of {@link SlidingDirection}
+     */
+    byte[] getPath() {
+        return this.path;
+    }
+
+    long getExpandedNodes() {
+        return this.expandedNodes;
+    }
+
+    long getHeuristicEvaluations() {
+        return this.heuristicEvaluations;
+    }
+
+    static List<SlidingDirection> toList(byte[] path, int length) {
+        SlidingDirection[] moves = new SlidingDirection[length];
+        for (int i = 0; i < length; i++) {
+            moves[i] = DIRECTIONS[path[i]];
+        }
+        return List.of(moves);
+    }
+
+    static int blankOf(int[] cells) {
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == 0) return i;
+        }
+        throw new IllegalArgumentException("The grid has no empty cell!");
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Solver;
+
+/**
+ * This class implements the Manhattan distance heuristic improved with linear conflicts.
+ * Two tiles are in linear conflict when they are in their goal row (or column) but in the
+ * wrong order, so one of them has to leave the line and come back: this costs 2 extra movements.
+ * For every line we count the tiles that are not part of the longest correctly ordered subsequence.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public final class LinearConflictHeuristic implements Heuristic {
+
+    private int size;
+    private int manhattan;
+    private int conflicts;
+    private int[] rowConflicts;
+    private int[] columnConflicts;
+    private int[] line; // goal coordinates of the tiles of a line, reused to avoid allocations
+    private int[] tails; // longest increasing subsequence scratch array
+
+    /**
+     * Constructor method
+     * The heuristic must be initialized with a grid before it is updated
+     */
+    public LinearConflictHeuristic() {
+    }
+
+    @Override
+    public boolean supports(int size) {
+        return size >= 2;
+    }
+
+    @Override
+    public int initialize(int[] cells, int size) {
+        if (this.size != size) {
+            this.size = size;
+            this.rowConflicts = new int[size];
+            this.columnConflicts = new int[size];
+            this.line = new int[size];
+            this.tails = new int[size];
+        }
+
+        this.manhattan = 0;
+        for (int i = 0; i < cells.length; i++) {
+            this.manhattan += manhattan(cells[i], i);
+        }
+        this.conflicts = 0;
+        for (int i = 0; i < size; i++) {
+            this.rowConflicts[i] = rowConflicts(cells, i);
+            this.columnConflicts[i] = columnConflicts(cells, i);
+            this.conflicts += this.rowConflicts[i] + this.columnConflicts[i];
+        }
+        return this.manhattan + this.conflicts;
+    }
+
+    @Override
+    public int update(int[] cells, int from, int to) {
+        int value = cells[from];
+        this.manhattan += manhattan(value, from) - manhattan(value, to);
+
+        // A vertical slide changes the content of two rows, a horizontal one of two columns
+        if (Math.abs(from - to) == this.size) {
+            this.conflicts += refreshRow(cells, from / this.size) + refreshRow(cells, to / this.size);
+        } else {
+            this.conflicts += refreshColumn(cells, from % this.size) + refreshColumn(cells, to % this.size);
+        }
+        return this.manhattan + this.conflicts;
+    }
+
+    @Override
+    public Heuristic copy() {
+        LinearConflictHeuristic copy = new LinearConflictHeuristic();
+        copy.size = this.size;
+        copy.manhattan = this.manhattan;
+        copy.conflicts = this.conflicts;
+        if (this.size > 0) {
+            copy.rowConflicts = this.rowConflicts.clone();
+            copy.columnConflicts = this.columnConflicts.clone();
+            copy.line = new int[this.size];
+            copy.tails = new int[this.size];
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the Manhattan distance of a tile from its correct cell
+     *
+     * @param value the tile value
+     * @param index the cell index where the tile is
+     * @return the Manhattan distance of the tile, 0 for the empty cell
+     */
+    private int manhattan(int value, int index) {
+        if (value == 0) return 0;
+        int goal = value - 1;
+        return Math.abs(goal / this.size - index / this.size) + Math.abs(goal % this.size - index % this.size);
+    }
+
+    /**
+     * Evaluates again the conflicts of a row
+     *
+     * @return the difference from the previous value
+     */
+    private int refreshRow(int[] cells, int row) {
+        int previous = this.rowConflicts[row];
+        this.rowConflicts[row] = rowConflicts(cells, row);
+        return this.rowConflicts[row] - previous;
+    }
+
+    /**
+     * Evaluates again the conflicts of a column
+     *
+     * @return the difference from the previous value
+     */
+    private int refreshColumn(int[] cells, int column) {
+        int previous = this.columnConflicts[column];
+        this.columnConflicts[column] = columnConflicts(cells, column);
+        return this.columnConflicts[column] - previous;
+    }
+
+    private int rowConflicts(int[] cells, int row) {
+        int n = 0;
+        for (int column = 0; column < this.size; column++) {
+            int value = cells[row * this.size + column];
+            if (value != 0 && (value - 1) / this.size == row) this.line[n++] = (value - 1) % this.size;
+        }
+        return 2 * (n - longestIncreasing(n));
+    }
+
+    private int columnConflicts(int[] cells, int column) {
+        int n = 0;
+        for (int row = 0; row < this.size; row++) {
+            int value = cells[row * this.size + column];
+            if (value != 0 && (value - 1) % this.size == column) this.line[n++] = (value - 1) / this.size;
+        }
+        return 2 * (n - longestIncreasing(n));
+    }
+
+    /**
+     * Returns the length of the longest increasing subsequence of the first {@code n} values of {@code line}
+     */
+    private int longestIncreasing(int n) {
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            int value = this.line[i];
+            int j = 0;
+            while (j < length && this.tails[j] < value) j++;
+            this.tails[j] = value;
+            if (j == length) length++;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Solver;
+
+/**
+ * This class implements a hash map from packed grids ({@code long}) to small values ({@code byte}),
+ * see {@link LongKeyMap}.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+final class LongByteMap extends LongKeyMap<byte[]> {
+
+    static final int MISSING = -1;
+
+    /**
+     * Constructor method
+     *
+     * @param expected the expected number of keys
+     */
+    LongByteMap(int expected) {
+        super(expected, byte[]::new);
+    }
+
+    /**
+     * Inserts a key if it is not present yet
+     *
+     * @param key the packed grid, never 0
+     * @param value the value to associate
+     * @return true if the key has been inserted, false if it was already present
+     */
+    boolean putIfAbsent(long key, byte value) {
+        int slot = find(key);
+        if (slot >= 0) return false;
+        this.values[~slot] = value;
+        insert(~slot, key);
+        return true;
+    }
+
+    /**
+     * Returns the value associated with a key
+     *
+     * @param key the packed grid
+     * @return the value, or {@code MISSING} if the key is not present
+     */
+    int get(long key) {
+        int slot = find(key);
+        return slot < 0 ? MISSING : this.values[slot];
+    }
+
+    boolean contains(long key) {
+        return find(key) >= 0;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Solver;
+
+import java.util.function.IntFunction;
+
+/**
+ * This class implements the keys of a hash map from packed grids ({@code long}) to primitive values,
+ * with open addressing and linear probing, so no key or value is ever boxed.
+ * The values live in a primitive array of type {@code A}, at the same index as their key:
+ * the subclasses only read and write that array.
+ * The key 0 is reserved to mark the free slots: it is never a valid packed grid.
+ *
+ * @param <A> the type of the array of the values, for example {@code byte[]}
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+abstract class LongKeyMap<A> {
+
+    private final IntFunction<A> newValues;
+    private long[] keys;
+    private int mask;
+    private int size;
+    A values;
+
+    /**
+     * Constructor method
+     *
+     * @param expected the expected number of keys
+     * @param newValues creates the array of the values with the given length, for example {@code byte[]::new}
+     */
+    LongKeyMap(int expected, IntFunction<A> newValues) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected) * 2 - 1) << 1;
+        this.newValues = newValues;
+        this.keys = new long[capacity];
+        this.values = newValues.apply(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Looks for a key
+     *
+     * @param key the packed grid, never 0
+     * @return the slot of the key, or {@code ~slot} of the free slot where it would be inserted
+     */
+    final int find(long key) {
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & this.mask;
+        while (this.keys[slot] != 0) {
+            if (this.keys[slot] == key) return slot;
+            slot = (slot + 1) & this.mask;
+        }
+        return ~slot;
+    }
+
+    /**
+     * Inserts a key in a free slot returned by {@link #find}; its value must already be stored in the same slot
+     *
+     * @param slot the free slot
+     * @param key the packed grid
+     */
+    final void insert(int slot, long key) {
+        this.keys[slot] = key;
+        if (++this.size * 2 > this.keys.length) grow();
+    }
+
+    final int size() {
+        return this.size;
+    }
+
+    private void grow() {
+        long[] oldKeys = this.keys;
+        A oldValues = this.values;
+        this.keys = new long[oldKeys.length * 2];
+        this.values = this.newValues.apply(this.keys.length);
+        this.mask = this.keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == 0) continue;
+            int slot = ~find(oldKeys[i]);
+            this.keys[slot] = oldKeys[i];
+            System.arraycopy(oldValues, i, this.values, slot, 1);
+        }
+    }
+}
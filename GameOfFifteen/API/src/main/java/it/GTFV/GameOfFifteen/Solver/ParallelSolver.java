@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Solver;
+
+import it.GTFV.GameOfFifteen.Game.GameBoard;
+import it.GTFV.GameOfFifteen.Metrics.Metrics;
+import it.GTFV.GameOfFifteen.Metrics.MetricsRecorder;
+import it.GTFV.GameOfFifteen.Models.NeighborTable;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class finds optimal solutions with a parallel version of IDA*.
+ * The top of the search tree is expanded breadth-first down to a shallow depth, and every
+ * node of that frontier becomes a work item for a {@link ForkJoinPool}. All the items of an
+ * iteration share the same f-bound; the first solution found stops the remaining items, and
+ * since every item uses the same bound the solution has the same (optimal) length found by {@link Solver}.
+ * With a {@link TranspositionTable} the items of an iteration share the grids they reached,
+ * so a subtree reached by two items is only explored once.
+ * <p>
+ * The solver reports the number of expanded nodes and the elapsed time of the last search,
+ * so the throughput can be compared across different levels of parallelism.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public class ParallelSolver {
+
+    private static final int ITEMS_PER_THREAD = 16;
+    private static final int NO_SPLIT = -1;
+
+    private final Heuristic heuristic;
+    private final ForkJoinPool pool;
+    private final TranspositionTable transpositions;
+    private long expandedNodes;
+    private long elapsedNanos;
+
+    /**
+     * Constructor method
+     * Uses the Manhattan distance with linear conflicts and the common fork/join pool
+     */
+    public ParallelSolver() {
+        this(new LinearConflictHeuristic(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor method
+     *
+     * @param heuristic the admissible heuristic, every work item uses its own copy
+     * @param pool the pool that runs the work items
+     * @throws IllegalArgumentException if heuristic or pool are null
+     */
+    public ParallelSolver(Heuristic heuristic, ForkJoinPool pool) {
+        this(heuristic, pool, null);
+    }
+
+    /**
+     * Constructor method
+     *
+     * @param heuristic the admissible heuristic, every work item uses its own copy
+     * @param pool the pool that runs the work items
+     * @param transpositions the table shared by the work items, may be null
+     * @throws IllegalArgumentException if heuristic or pool are null
+     */
+    public ParallelSolver(Heuristic heuristic, ForkJoinPool pool, TranspositionTable transpositions) {
+        if (heuristic == null) throw new IllegalArgumentException("Heuristic can't be null!");
+        if (pool == null) throw new IllegalArgumentException("Pool can't be null!");
+        this.heuristic = heuristic;
+        this.pool = pool;
+        this.transpositions = transpositions;
+    }
+
+    /**
+     * Finds a shortest sequence of movements that solves the board.
+     * The board itself is not modified.
+     *
+     * @param board the board to solve
+     * @return the movements to apply in order, empty if the board is already solved
+     * @throws IllegalArgumentException if board is null or its size is not supported by the heuristic
+     */
+    public List<SlidingDirection> solve(GameBoard board) {
+        if (board == null) throw new IllegalArgumentException("Board can't be null!");
+        int size = board.getGridSize();
+        if (!this.heuristic.supports(size)) throw new IllegalArgumentException("The heuristic doesn't support " + size + "x" + size + " grids!");
+
+        long start = System.nanoTime();
+        LongAdder nodes = new LongAdder();
+        LongAdder evaluations = new LongAdder();
+        try {
+            int[] cells = board.getCells();
+            Heuristic rootHeuristic = this.heuristic.copy();
+            int h = rootHeuristic.initialize(cells, size);
+            IdaSearch root = new IdaSearch(cells, size, rootHeuristic, null, this.transpositions);
+            if (h == 0 && root.iterate(null, 0, 0, 0, -1, nextGeneration()) == IdaSearch.FOUND) {
+                evaluations.increment();
+                return solved(size, List.of(), nodes, evaluations, start); // already solved, no frontier needed
+            }
+
+            List<WorkItem> frontier = new ArrayList<>();
+            int splitDepth = frontier(board.getCells(), size, this.pool.getParallelism() * ITEMS_PER_THREAD, frontier);
+            if (splitDepth == NO_SPLIT) splitDepth = Integer.MAX_VALUE; // too few work items (2x2 grids): the whole search is sequential
+
+            // Solutions not longer than the split depth are found by a plain sequential search
+            int bound = h;
+            while (bound <= splitDepth) {
+                int result = root.iterate(null, 0, bound, h, -1, nextGeneration());
+                if (result == IdaSearch.FOUND) {
+                    nodes.add(root.getExpandedNodes());
+                    evaluations.add(root.getHeuristicEvaluations() + 1);
+                    return solved(size, root.solution(bound), nodes, evaluations, start);
+                }
+                bound = result;
+            }
+            nodes.add(root.getExpandedNodes());
+            evaluations.add(root.getHeuristicEvaluations() + 1);
+
+            while (true) {
+                Iteration iteration = new Iteration(bound, size, nodes, evaluations, nextGeneration());
+                List<IterationTask> tasks = new ArrayList<>(frontier.size());
+                for (WorkItem item : frontier) tasks.add(new IterationTask(iteration, item));
+                this.pool.invoke(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        invokeAll(tasks);
+                    }
+                });
+
+                byte[] path = iteration.solution.get();
+                if (path != null) return solved(size, IdaSearch.toList(path, bound), nodes, evaluations, start);
+                bound = iteration.nextBound.get();
+            }
+        } finally {
+            this.expandedNodes = nodes.sum();
+            this.elapsedNanos = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Expands the tree breadth-first until the frontier has at least {@code target} nodes.
+     * On a 2x2 grid every node has a single child besides its parent, so the frontier never grows:
+     * the expansion stops at the first level that isn't bigger than the previous one.
+     *
+     * @param cells the root grid
+     * @param size the number of rows and columns of the grid
+     * @param target the minimum number of work items
+     * @param frontier the list that receives the work items
+     * @return the depth of the frontier, or {@code NO_SPLIT} if it can't reach {@code target} nodes
+     */
+    private static int frontier(int[] cells, int size, int target, List<WorkItem> frontier) {
+        NeighborTable table = NeighborTable.of(size);
+        frontier.add(new WorkItem(cells, IdaSearch.blankOf(cells), new byte[0], -1));
+        int depth = 0;
+        while (frontier.size() < target) {
+            List<WorkItem> next = new ArrayList<>(frontier.size() * 3);
+            for (WorkItem item : frontier) {
+                for (int d = 0; d < IdaSearch.DIRECTIONS.length; d++) {
+                    if (d == (item.previous ^ 1)) continue;
+                    int to = table.neighbor(item.blank, d);
+                    if (to < 0) continue;
+
+                    int[] child = item.cells.clone();
+                    child[item.blank] = child[to];
+                    child[to] = 0;
+                    byte[] path = new byte[depth + 1];
+                    System.arraycopy(item.path, 0, path, 0, depth);
+                    path[depth] = (byte) d;
+                    next.add(new WorkItem(child, to, path, d));
+                }
+            }
+            if (next.size() <= frontier.size()) return NO_SPLIT;
+            frontier.clear();
+            frontier.addAll(next);
+            depth++;
+        }
+        return depth;
+    }
+
+    /**
+     * Reports a solution to the metrics recorder, if any
+     *
+     * @return the solution
+     */
+    private static List<SlidingDirection> solved(int size, List<SlidingDirection> solution, LongAdder nodes, LongAdder evaluations, long start) {
+        MetricsRecorder metrics = Metrics.recorder();
+        if (metrics != null) metrics.solved("ParallelSolver", size, solution.size(), nodes.sum(), evaluations.sum(), System.nanoTime() - start);
+        return solution;
+    }
+
+    private int nextGeneration() {
+        return this.transpositions == null ? 0 : this.transpositions.nextGeneration();
+    }
+
+    /**
+     * Returns the number of nodes expanded by the last search, summed over all the workers
+     * @return the number of expanded nodes
+     */
+    public long getExpandedNodes() {
+        return this.expandedNodes;
+    }
+
+    /**
+     * Returns the wall-clock duration of the last search
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * Returns the throughput of the last search
+     * @return the number of expanded nodes per second
+     */
+    public double getNodesPerSecond() {
+        return this.elapsedNanos == 0 ? 0 : this.expandedNodes * 1e9 / this.elapsedNanos;
+    }
+
+    /**
+     * A node of the frontier: its grid and the movements that reach it from the root
+     */
+    private record WorkItem(int[] cells, int blank, byte[] path, int previous) {
+    }
+
+    /**
+     * State shared by all the work items of an iteration
+     */
+    private static final class Iteration {
+        private final int bound;
+        private final int size;
+        private final LongAdder nodes;
+        private final LongAdder evaluations;
+        private final int generation;
+        private final AtomicBoolean stop = new AtomicBoolean();
+        private final AtomicInteger nextBound = new AtomicInteger(Integer.MAX_VALUE);
+        private final AtomicReference<byte[]> solution = new AtomicReference<>();
+
+        private Iteration(int bound, int size, LongAdder nodes, LongAdder evaluations, int generation) {
+            this.bound = bound;
+            this.size = size;
+            this.nodes = nodes;
+            this.evaluations = evaluations;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Searches the subtree of a work item with the bound of the iteration
+     */
+    @SuppressWarnings("serial") // ForkJoinTask is Serializable, but a task never leaves the pool that runs it
+    private final class IterationTask extends RecursiveAction {
+        private final Iteration iteration;
+        private final WorkItem item;
+
+        private IterationTask(Iteration iteration, WorkItem item) {
+            this.iteration = iteration;
+            this.item = item;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.iteration.stop.get()) return;
+
+            int[] cells = this.item.cells.clone();
+            Heuristic h = ParallelSolver.this.heuristic.copy();
+            int estimate = h.initialize(cells, this.iteration.size);
+            int depth = this.item.path.length;
+            IdaSearch search = new IdaSearch(cells, this.iteration.size, h, this.iteration.stop, ParallelSolver.this.transpositions);
+
+            int result = search.iterate(this.item.path, depth, this.iteration.bound, estimate, this.item.previous, this.iteration.generation);
+            this.iteration.nodes.add(search.getExpandedNodes());
+            this.iteration.evaluations.add(search.getHeuristicEvaluations() + 1);
+            if (result == IdaSearch.FOUND) {
+                byte[] path = Arrays.copyOf(search.getPath(), this.iteration.bound);
+                if (this.iteration.solution.compareAndSet(null, path)) this.iteration.stop.set(true);
+            } else if (result != IdaSearch.CANCELLED) {
+                this.iteration.nextBound.accumulateAndGet(result, Math::min);
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Solver;
+
+import it.GTFV.GameOfFifteen.Game.PackedBoard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class represents a set of additive disjoint pattern databases for the 4x4 grid.
+ * Every pattern database stores, for each placement of its tiles, the minimum number of
+ * movements of those tiles needed to bring them to their correct cells.
+ * <p>
+ * The tables are produced offline by {@link PatternDatabaseGenerator} and mapped in memory
+ * with {@link FileChannel#map}, so loading is immediate and processes on the same host share pages.
+ * Every entry is a nibble holding {@code (distance - manhattan) / 2}, where {@code manhattan} is the
+ * Manhattan distance of the pattern tiles: the two values always have the same parity.
+ * <p>
+ * File layout (big endian): magic {@code "GPDB"}, version (short), grid size (byte),
+ * number of patterns (byte), then for every pattern the number of tiles (byte) followed by the tiles,
+ * and finally the nibble-packed tables, one after the other.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public final class PatternDatabase {
+
+    static final int MAGIC = 0x47504442; // "GPDB"
+    static final short VERSION = 1;
+
+    /**
+     * The 6-6-3 partition of the tiles used by default
+     */
+    public static final int[][] DEFAULT_PATTERNS = {
+            {1, 5, 6, 9, 10, 13},
+            {7, 8, 11, 12, 14, 15},
+            {2, 3, 4}
+    };
+
+    private final int[][] patterns;
+    private final ByteBuffer[] tables;
+
+    private PatternDatabase(int[][] patterns, ByteBuffer[] tables) {
+        this.patterns = patterns;
+        this.tables = tables;
+    }
+
+    /**
+     * Maps a pattern database file in memory
+     *
+     * @param file the file written by {@link PatternDatabaseGenerator}
+     * @return the pattern database
+     * @throws IOException if the file can't be read or it is not a valid pattern database
+     */
+    public static PatternDatabase load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != MAGIC) throw new IOException("Not a pattern database file: " + file);
+            if (buffer.getShort() != VERSION) throw new IOException("Unsupported pattern database version: " + file);
+            if (buffer.get() != PackedBoard.SIZE) throw new IOException("Only 4x4 pattern databases are supported: " + file);
+
+            int[][] patterns = new int[buffer.get()][];
+            int covered = 0;
+            for (int p = 0; p < patterns.length; p++) {
+                patterns[p] = new int[buffer.get()];
+                for (int i = 0; i < patterns[p].length; i++) {
+                    int tile = buffer.get();
+                    if (tile <= 0 || tile >= PackedBoard.CELLS || (covered & (1 << tile)) != 0) throw new IOException("Invalid pattern in " + file);
+                    covered |= 1 << tile;
+                    patterns[p][i] = tile;
+                }
+            }
+
+            ByteBuffer[] tables = new ByteBuffer[patterns.length];
+            int offset = buffer.position();
+            for (int p = 0; p < patterns.length; p++) {
+                int length = tableBytes(patterns[p].length);
+                if (offset + length > buffer.capacity()) throw new IOException("Truncated pattern database: " + file);
+                tables[p] = buffer.slice(offset, length);
+                offset += length;
+            }
+            return new PatternDatabase(patterns, tables);
+        }
+    }
+
+    /**
+     * Returns the number of placements of {@code k} distinct tiles on the grid
+     *
+     * @param k the number of tiles
+     * @return {@code 16 * 15 * ... * (16 - k + 1)}
+     */
+    static int entries(int k) {
+        int entries = 1;
+        for (int i = 0; i < k; i++) {
+            entries *= PackedBoard.CELLS - i;
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the size in bytes of the nibble-packed table of a pattern of {@code k} tiles
+     */
+    static int tableBytes(int k) {
+        return (entries(k) + 1) / 2;
+    }
+
+    /**
+     * Ranks a placement of distinct tiles, giving an index in the {@code 0}-{@code entries(k)} range
+     *
+     * @param positions the cell of every tile of the pattern
+     * @param k the number of tiles
+     * @return the index of the placement
+     */
+    static int rank(int[] positions, int k) {
+        int rank = 0;
+        int used = 0;
+        for (int i = 0; i < k; i++) {
+            int position = positions[i];
+            rank = rank * (PackedBoard.CELLS - i) + position - Integer.bitCount(used & ((1 << position) - 1));
+            used |= 1 << position;
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the number of patterns
+     * @return the number of patterns
+     */
+    public int getPatternCount() {
+        return this.patterns.length;
+    }
+
+    /**
+     * Returns the tiles of a pattern
+     * @param pattern the pattern index
+     * @return a copy of the tile values of the pattern
+     */
+    public int[] getPattern(int pattern) {
+        return this.patterns[pattern].clone();
+    }
+
+    /**
+     * Returns the stored nibble of a placement
+     *
+     * @param pattern the pattern index
+     * @param rank the index of the placement, see {@link #rank}
+     * @return {@code (distance - manhattan) / 2} for the placement
+     */
+    int lookup(int pattern, int rank) {
+        int packed = this.tables[pattern].get(rank >>> 1);
+        return (rank & 1) == 0 ? packed & 0xF : (packed >>> 4) & 0xF;
+    }
+}
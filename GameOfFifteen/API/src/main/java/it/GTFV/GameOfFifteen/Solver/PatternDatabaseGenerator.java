@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Solver;
+
+import it.GTFV.GameOfFifteen.Game.PackedBoard;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * This class generates the pattern database file read by {@link PatternDatabase}.
+ * It is meant to be run once, offline, through the {@code generatePatternDatabase} Gradle task.
+ * <p>
+ * Every table is filled with a breadth-first search backwards from the solved grid, where only the
+ * movements of the pattern tiles are counted. The empty cell is abstracted by the region it can reach
+ * without moving any pattern tile, identified by the smallest cell of the region.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public final class PatternDatabaseGenerator {
+
+    private static final int COLUMN_0 = 0x1111;
+    private static final int COLUMN_3 = 0x8888;
+    private static final int UNKNOWN = -1;
+
+    private PatternDatabaseGenerator() {
+    }
+
+    /**
+     * Generates the default 6-6-3 pattern database
+     *
+     * @param args the path of the output file
+     * @throws IOException in case of output errors
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) throw new IllegalArgumentException("Usage: PatternDatabaseGenerator <output file>");
+        long start = System.currentTimeMillis();
+        generate(Path.of(args[0]), PatternDatabase.DEFAULT_PATTERNS);
+        System.out.println("Pattern database written to " + args[0] + " in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * Generates a pattern database file
+     *
+     * @param file the output file
+     * @param patterns disjoint sets of tiles
+     * @throws IOException in case of output errors
+     */
+    public static void generate(Path file, int[][] patterns) throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(PatternDatabase.MAGIC);
+            out.writeShort(PatternDatabase.VERSION);
+            out.writeByte(PackedBoard.SIZE);
+            out.writeByte(patterns.length);
+            for (int[] pattern : patterns) {
+                out.writeByte(pattern.length);
+                for (int tile : pattern) out.writeByte(tile);
+            }
+            for (int[] pattern : patterns) {
+                out.write(table(pattern));
+            }
+        }
+    }
+
+    /**
+     * Builds the nibble-packed table of a pattern
+     *
+     * @param tiles the tiles of the pattern
+     * @return the packed table
+     */
+    static byte[] table(int[] tiles) {
+        int k = tiles.length;
+        int entries = PatternDatabase.entries(k);
+        byte[] distances = new byte[entries];
+        Arrays.fill(distances, (byte) UNKNOWN);
+        long[] visited = new long[(int) (((long) entries * PackedBoard.CELLS + 63) / 64)];
+
+        // A state keeps the cell of every pattern tile (4 bits each) and the region of the empty cell
+        int[] goal = new int[k];
+        for (int i = 0; i < k; i++) goal[i] = tiles[i] - 1;
+        int[] positions = new int[k];
+        int[] next = new int[k];
+
+        IntQueue queue = new IntQueue();
+        int occupied = occupied(goal);
+        int first = encode(goal, representative(region(PackedBoard.CELLS - 1, occupied)));
+        queue.add(first);
+        mark(visited, goal, k, first & 0xF);
+
+        byte[] packed = new byte[PatternDatabase.tableBytes(k)];
+        for (int depth = 0; !queue.isEmpty(); depth++) {
+            int layerEnd = queue.size();
+            while (queue.head() < layerEnd) {
+                int state = queue.poll();
+                decode(state, positions, k);
+                int rank = PatternDatabase.rank(positions, k);
+                if (distances[rank] == UNKNOWN) {
+                    distances[rank] = (byte) depth;
+                    int nibble = Math.min(15, (depth - manhattan(tiles, positions)) / 2);
+                    packed[rank >>> 1] |= (byte) ((rank & 1) == 0 ? nibble : nibble << 4);
+                }
+
+                occupied = occupied(positions);
+                int region = region(state & 0xF, occupied);
+                for (int i = 0; i < k; i++) {
+                    // the tile can slide in every cell of the region next to it
+                    int targets = neighbors(1 << positions[i]) & region;
+                    while (targets != 0) {
+                        int target = Integer.numberOfTrailingZeros(targets);
+                        targets &= targets - 1;
+
+                        System.arraycopy(positions, 0, next, 0, k);
+                        next[i] = target;
+                        int blank = representative(region(positions[i], occupied(next)));
+                        if (mark(visited, next, k, blank)) queue.add(encode(next, blank));
+                    }
+                }
+            }
+        }
+        return packed;
+    }
+
+    private static int manhattan(int[] tiles, int[] positions) {
+        int distance = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            distance += PackedBoard.manhattan(tiles[i], positions[i]);
+        }
+        return distance;
+    }
+
+    /**
+     * Marks a state as visited
+     *
+     * @return true if the state had not been visited yet
+     */
+    private static boolean mark(long[] visited, int[] positions, int k, int blank) {
+        long index = (long) PatternDatabase.rank(positions, k) * PackedBoard.CELLS + blank;
+        int word = (int) (index >>> 6);
+        long bit = 1L << (index & 63);
+        if ((visited[word] & bit) != 0) return false;
+        visited[word] |= bit;
+        return true;
+    }
+
+    private static int encode(int[] positions, int blank) {
+        int state = 0;
+        for (int i = positions.length - 1; i >= 0; i--) {
+            state = (state << 4) | positions[i];
+        }
+        return (state << 4) | blank;
+    }
+
+    private static void decode(int state, int[] positions, int k) {
+        state >>>= 4;
+        for (int i = 0; i < k; i++) {
+            positions[i] = state & 0xF;
+            state >>>= 4;
+        }
+    }
+
+    private static int occupied(int[] positions) {
+        int mask = 0;
+        for (int position : positions) mask |= 1 << position;
+        return mask;
+    }
+
+    /**
+     * Returns the cells adjacent to the given set of cells (as 16 bit masks)
+     */
+    private static int neighbors(int mask) {
+        return (((mask << 1) & ~COLUMN_0) | ((mask >>> 1) & ~COLUMN_3) | (mask << 4) | (mask >>> 4)) & 0xFFFF;
+    }
+
+    /**
+     * Returns the cells the empty cell can reach from {@code start} without moving the occupied cells
+     */
+    private static int region(int start, int occupied) {
+        int region = 1 << start;
+        int grown = region;
+        do {
+            region = grown;
+            grown = region | (neighbors(region) & ~occupied);
+        } while (grown != region);
+        return region;
+    }
+
+    private static int representative(int region) {
+        return Integer.numberOfTrailingZeros(region);
+    }
+
+    /**
+     * Minimal growable FIFO of ints, states are never enqueued twice
+     */
+    private static final class IntQueue {
+        private int[] items = new int[1 << 16];
+        private int head;
+        private int tail;
+
+        void add(int value) {
+            if (this.tail == this.items.length) this.items = Arrays.copyOf(this.items, this.items.length * 2);
+            this.items[this.tail++] = value;
+        }
+
+        int poll() {
+            return this.items[this.head++];
+        }
+
+        int head() {
+            return this.head;
+        }
+
+        int size() {
+            return this.tail;
+        }
+
+        boolean isEmpty() {
+            return this.head == this.tail;
+        }
+    }
+}
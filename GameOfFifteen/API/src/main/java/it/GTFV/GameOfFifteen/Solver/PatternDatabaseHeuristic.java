@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Solver;
+
+import it.GTFV.GameOfFifteen.Game.PackedBoard;
+
+import java.util.Arrays;
+
+/**
+ * This class implements the additive pattern database heuristic for the 4x4 grid.
+ * The estimate is the sum of the values of every pattern; after a slide only the
+ * pattern that contains the moved tile is looked up again.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public final class PatternDatabaseHeuristic implements Heuristic {
+
+    private final PatternDatabase database;
+    private final int[] patternOf = new int[PackedBoard.CELLS]; // pattern containing each tile, -1 if none
+    private final int[] slotOf = new int[PackedBoard.CELLS]; // index of each tile inside its pattern
+    private final int[][] positions; // current cell of every tile, by pattern
+    private final int[] manhattan; // Manhattan distance of the tiles of every pattern
+    private final int[] values; // current estimate of every pattern
+    private int estimate;
+
+    /**
+     * Constructor method
+     *
+     * @param database the pattern databases, see {@link PatternDatabase#load}
+     * @throws IllegalArgumentException if database is null
+     */
+    public PatternDatabaseHeuristic(PatternDatabase database) {
+        if (database == null) throw new IllegalArgumentException("Database can't be null!");
+        this.database = database;
+
+        int count = database.getPatternCount();
+        this.positions = new int[count][];
+        this.manhattan = new int[count];
+        this.values = new int[count];
+        Arrays.fill(this.patternOf, -1); // the empty cell, and the tiles a partial partition doesn't cover
+        for (int p = 0; p < count; p++) {
+            int[] tiles = database.getPattern(p);
+            this.positions[p] = new int[tiles.length];
+            for (int i = 0; i < tiles.length; i++) {
+                this.patternOf[tiles[i]] = p;
+                this.slotOf[tiles[i]] = i;
+            }
+        }
+    }
+
+    @Override
+    public boolean supports(int size) {
+        return size == PackedBoard.SIZE;
+    }
+
+    @Override
+    public int initialize(int[] cells, int size) {
+        for (int i = 0; i < cells.length; i++) {
+            int p = this.patternOf[cells[i]];
+            if (p >= 0) this.positions[p][this.slotOf[cells[i]]] = i;
+        }
+        this.estimate = 0;
+        for (int p = 0; p < this.positions.length; p++) {
+            this.manhattan[p] = 0;
+            for (int tile : this.database.getPattern(p)) {
+                this.manhattan[p] += PackedBoard.manhattan(tile, this.positions[p][this.slotOf[tile]]);
+            }
+            this.values[p] = evaluate(p);
+            this.estimate += this.values[p];
+        }
+        return this.estimate;
+    }
+
+    @Override
+    public int update(int[] cells, int from, int to) {
+        int tile = cells[from];
+        int p = this.patternOf[tile];
+        if (p < 0) return this.estimate; // the tile is not covered by any pattern
+
+        this.positions[p][this.slotOf[tile]] = from;
+        this.manhattan[p] += PackedBoard.manhattan(tile, from) - PackedBoard.manhattan(tile, to);
+        int value = evaluate(p);
+        this.estimate += value - this.values[p];
+        this.values[p] = value;
+        return this.estimate;
+    }
+
+    @Override
+    public Heuristic copy() {
+        PatternDatabaseHeuristic copy = new PatternDatabaseHeuristic(this.database);
+        for (int p = 0; p < this.positions.length; p++) {
+            System.arraycopy(this.positions[p], 0, copy.positions[p], 0, this.positions[p].length);
+        }
+        System.arraycopy(this.manhattan, 0, copy.manhattan, 0, this.manhattan.length);
+        System.arraycopy(this.values, 0, copy.values, 0, this.values.length);
+        copy.estimate = this.estimate;
+        return copy;
+    }
+
+    private int evaluate(int pattern) {
+        int[] cells = this.positions[pattern];
+        return this.manhattan[pattern] + 2 * this.database.lookup(pattern, PatternDatabase.rank(cells, cells.length));
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Solver;
+
+/**
+ * This interface receives the progress of a search, and can stop it.
+ * It is called by the thread running the search at the start of every IDA* iteration
+ * and then every {@code INTERVAL} expanded nodes, so it must return quickly.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+@FunctionalInterface
+public interface SearchMonitor {
+
+    int INTERVAL = 1 << 20;
+
+    /**
+     * Reports the progress of the search
+     *
+     * @param bound the cost bound of the current iteration
+     * @param expandedNodes the number of nodes expanded since the start of the search
+     * @return {@code true} to go on, {@code false} to cancel the search
+     */
+    boolean onProgress(int bound, long expandedNodes);
+}
@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Solver;
+
+import it.GTFV.GameOfFifteen.Game.GameBoard;
+import it.GTFV.GameOfFifteen.Game.PackedBoard;
+import it.GTFV.GameOfFifteen.Models.PackedMoves;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * This class caches the solutions of 4x4 boards, keyed by their packed grid ({@link GameBoard#getPackedState}).
+ * <p>
+ * The solutions are kept in two tiers:
+ * <ul>
+ *     <li>a map in access order, bounded by an estimate of the heap it uses: when it is full the least
+ *     recently used solutions are evicted;</li>
+ *     <li>optionally, an append-only file holding every solution ever added. At startup the file is mapped
+ *     in memory with {@link FileChannel#map} and only its index (grid to offset) is built, so the solutions
+ *     evicted from the map, or found in a previous run, are read back without a search.</li>
+ * </ul>
+ * File layout (big endian): magic {@code "GSLC"}, version (short), then the records, each one the packed grid (long),
+ * the number of movements (short) and the movements, 2 bits each in longs (see {@link PackedMoves}).
+ * A record truncated by a crash is dropped when the file is opened again.
+ * <p>
+ * The cache is thread safe: the solvers run outside its lock, so two threads can solve the same board at the same time.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public final class SolutionCache implements Closeable {
+
+    public static final int ENTRY_BYTES = 112; // estimated heap used by a cached solution of up to 32 movements, map entry and key included
+
+    static final int MAGIC = 0x47534C43; // "GSLC"
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = Integer.BYTES + Short.BYTES;
+    static final int RECORD_HEADER_BYTES = Long.BYTES + Short.BYTES;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, Entry> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxMemoryBytes;
+    private long memoryBytes;
+
+    private final FileChannel channel; // null without a file
+    private final MappedByteBuffer mapped; // the records found at startup, null without a file
+    private final long mappedEnd; // the end of the records found at startup
+    private final LongLongMap offsets; // offset of the record of every grid in the file, null without a file
+    private long end; // where the next record is appended
+
+    private long hits;
+    private long diskHits;
+    private long misses;
+
+    /**
+     * Constructor method
+     * Creates a cache kept in memory only
+     *
+     * @param maxMemoryBytes the heap the cached solutions may use, in bytes
+     * @throws IllegalArgumentException if maxMemoryBytes is not greater than 0
+     */
+    public SolutionCache(long maxMemoryBytes) {
+        this(maxMemoryBytes, null, null, null, 0);
+    }
+
+    private SolutionCache(long maxMemoryBytes, FileChannel channel, MappedByteBuffer mapped, LongLongMap offsets, long end) {
+        if (maxMemoryBytes <= 0) throw new IllegalArgumentException("The memory of the cache must be greater than 0!");
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.channel = channel;
+        this.mapped = mapped;
+        this.offsets = offsets;
+        this.mappedEnd = end;
+        this.end = end;
+    }
+
+    /**
+     * Opens a cache backed by a file, creating the file if it doesn't exist
+     *
+     * @param file the file of the solutions
+     * @param maxMemoryBytes the heap the cached solutions may use, in bytes
+     * @return the cache, to be closed when it is no longer used
+     * @throws IOException if the file can't be opened or it is not a solution cache file
+     * @throws IllegalArgumentException if file is null or maxMemoryBytes is not greater than 0
+     */
+    public static SolutionCache open(Path file, long maxMemoryBytes) throws IOException {
+        if (file == null) throw new IllegalArgumentException("File can't be null!");
+        if (maxMemoryBytes <= 0) throw new IllegalArgumentException("The memory of the cache must be greater than 0!");
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        try {
+            long size = channel.size();
+            if (size == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putShort(VERSION).flip();
+                while (header.hasRemaining()) channel.write(header, header.position());
+                size = HEADER_BYTES;
+            }
+            if (size > Integer.MAX_VALUE) throw new IOException("Solution cache file too large: " + file);
+
+            // The index is built with plain reads: the file can only be mapped once a torn record has been truncated
+            LongLongMap offsets = new LongLongMap((int) (size / (RECORD_HEADER_BYTES + Long.BYTES * 2)));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(0)), 1 << 16)); // not closed, it would close the channel
+            if (size < HEADER_BYTES || in.readInt() != MAGIC) throw new IOException("Not a solution cache file: " + file);
+            if (in.readShort() != VERSION) throw new IOException("Unsupported solution cache version: " + file);
+            long position = HEADER_BYTES;
+            while (position + RECORD_HEADER_BYTES <= size) {
+                long key = in.readLong();
+                int length = in.readShort();
+                long next = position + recordBytes(length);
+                if (key == 0 || length < 0 || next > size) break;
+                in.skipNBytes(next - position - RECORD_HEADER_BYTES);
+                offsets.put(key, position);
+                position = next;
+            }
+            if (position < size) channel.truncate(position); // drops a record torn by a crash
+
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, position);
+            return new SolutionCache(maxMemoryBytes, channel, mapped, offsets, position);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the solution of a board, solving it only if it is not cached yet.
+     * Boards other than 4x4 are always solved.
+     *
+     * @param board the board to solve
+     * @param solver the solver used when the board is not cached, for example {@code new Solver()::solve}
+     * @return the movements to apply in order
+     * @throws IllegalArgumentException if board or solver are null
+     * @throws UncheckedIOException if the file of the cache can't be read or written
+     */
+    public List<SlidingDirection> solve(GameBoard board, Function<GameBoard, List<SlidingDirection>> solver) {
+        if (board == null) throw new IllegalArgumentException("Board can't be null!");
+        if (solver == null) throw new IllegalArgumentException("Solver can't be null!");
+        if (board.getGridSize() != PackedBoard.SIZE) return solver.apply(board);
+
+        long key = board.getPackedState();
+        List<SlidingDirection> solution = get(key);
+        if (solution == null) {
+            solution = solver.apply(board);
+            put(key, solution);
+        }
+        return solution;
+    }
+
+    /**
+     * Returns the cached solution of a packed grid
+     *
+     * @param key the packed grid
+     * @return the movements to apply in order, null if the grid is not cached
+     * @throws UncheckedIOException if the file of the cache can't be read
+     */
+    public List<SlidingDirection> get(long key) {
+        this.lock.lock();
+        try {
+            Entry entry = this.memory.get(key);
+            if (entry != null) {
+                this.hits++;
+                return PackedMoves.unpack(entry.moves, entry.length);
+            }
+            long offset = this.offsets == null ? LongLongMap.MISSING : this.offsets.get(key);
+            if (offset == LongLongMap.MISSING) {
+                this.misses++;
+                return null;
+            }
+            entry = read(offset);
+            this.diskHits++;
+            remember(key, entry);
+            return PackedMoves.unpack(entry.moves, entry.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the solution of a packed grid; with a file, it is also appended to the file if it is not there yet
+     *
+     * @param key the packed grid
+     * @param solution the movements that solve the grid
+     * @throws IllegalArgumentException if key is 0, solution is null or it is longer than 32767 movements
+     * @throws UncheckedIOException if the file of the cache can't be written
+     */
+    public void put(long key, List<SlidingDirection> solution) {
+        if (key == 0) throw new IllegalArgumentException("The key must be a packed grid!");
+        if (solution == null) throw new IllegalArgumentException("Solution can't be null!");
+        if (solution.size() > Short.MAX_VALUE) throw new IllegalArgumentException("The solution must be at most " + Short.MAX_VALUE + " movements long!");
+
+        Entry entry = new Entry(PackedMoves.pack(solution), solution.size());
+        this.lock.lock();
+        try {
+            if (this.offsets != null && !this.offsets.contains(key)) append(key, entry);
+            remember(key, entry);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Adds a solution to the map, evicting the least recently used ones while the map is over its memory
+     */
+    private void remember(long key, Entry entry) {
+        Entry previous = this.memory.put(key, entry);
+        if (previous != null) this.memoryBytes -= entryBytes(previous);
+        this.memoryBytes += entryBytes(entry);
+        Iterator<Entry> eldest = this.memory.values().iterator();
+        while (this.memoryBytes > this.maxMemoryBytes && eldest.hasNext()) {
+            this.memoryBytes -= entryBytes(eldest.next());
+            eldest.remove();
+        }
+    }
+
+    private Entry read(long offset) throws IOException {
+        if (offset < this.mappedEnd) {
+            int position = (int) offset;
+            int length = this.mapped.getShort(position + Long.BYTES);
+            long[] moves = new long[PackedMoves.words(length)];
+            for (int i = 0; i < moves.length; i++) {
+                moves[i] = this.mapped.getLong(position + RECORD_HEADER_BYTES + i * Long.BYTES);
+            }
+            return new Entry(moves, length);
+        }
+
+        // appended after the file was mapped
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+        readFully(header, offset);
+        int length = header.getShort(Long.BYTES);
+        ByteBuffer body = ByteBuffer.allocate(PackedMoves.words(length) * Long.BYTES);
+        readFully(body, offset + RECORD_HEADER_BYTES);
+        long[] moves = new long[PackedMoves.words(length)];
+        body.asLongBuffer().get(moves);
+        return new Entry(moves, length);
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (this.channel.read(buffer, position + buffer.position()) < 0) throw new IOException("Truncated solution cache file");
+        }
+        buffer.flip();
+    }
+
+    private void append(long key, Entry entry) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(recordBytes(entry.length)).putLong(key).putShort((short) entry.length);
+        for (int i = 0; i < PackedMoves.words(entry.length); i++) record.putLong(entry.moves[i]);
+        record.flip();
+        while (record.hasRemaining()) this.channel.write(record, this.end + record.position());
+        this.offsets.put(key, this.end);
+        this.end += record.limit();
+    }
+
+    private static int recordBytes(int length) {
+        return RECORD_HEADER_BYTES + PackedMoves.words(length) * Long.BYTES;
+    }
+
+    private static long entryBytes(Entry entry) {
+        return ENTRY_BYTES + (long) Long.BYTES * Math.max(0, entry.moves.length - 1);
+    }
+
+    /**
+     * Returns the number of solutions kept in memory
+     * @return the number of solutions in memory
+     */
+    public int size() {
+        this.lock.lock();
+        try {
+            return this.memory.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of solutions in the file
+     * @return the number of solutions in the file, 0 without a file
+     */
+    public int getFileSize() {
+        this.lock.lock();
+        try {
+            return this.offsets == null ? 0 : this.offsets.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of lookups answered from memory
+     * @return the number of memory hits
+     */
+    public long getHits() {
+        this.lock.lock();
+        try {
+            return this.hits;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of lookups answered from the file
+     * @return the number of file hits
+     */
+    public long getDiskHits() {
+        this.lock.lock();
+        try {
+            return this.diskHits;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of lookups of grids that were not cached
+     * @return the number of misses
+     */
+    public long getMisses() {
+        this.lock.lock();
+        try {
+            return this.misses;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the file of the cache, if any; the records are already written, so nothing is lost
+     *
+     * @throws IOException if the file can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.channel == null) return;
+        this.lock.lock();
+        try {
+            this.channel.close();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * A cached solution: its movements, 2 bits each, and their number
+     */
+    private record Entry(long[] moves, int length) {
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Solver;
+
+import it.GTFV.GameOfFifteen.Game.GameBoard;
+import it.GTFV.GameOfFifteen.Metrics.Metrics;
+import it.GTFV.GameOfFifteen.Metrics.MetricsRecorder;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * This class finds optimal solutions with the iterative-deepening A* (IDA*) algorithm.
+ * The search works in place on a private copy of the grid: every movement is applied
+ * and then undone, so no board is copied or allocated while exploring the tree.
+ * A {@link TranspositionTable} can be added to skip the grids reached more than once.
+ * A solver is not thread safe, but it can be reused for more boards.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public class Solver {
+
+    private final Heuristic heuristic;
+    private final TranspositionTable transpositions;
+    private long expandedNodes;
+    private long heuristicEvaluations;
+
+    /**
+     * Constructor method
+     * Uses the Manhattan distance with linear conflicts as heuristic
+     */
+    public Solver() {
+        this(new LinearConflictHeuristic());
+    }
+
+    /**
+     * Constructor method
+     *
+     * @param heuristic the admissible heuristic that drives the search
+     * @throws IllegalArgumentException if heuristic is null
+     */
+    public Solver(Heuristic heuristic) {
+        this(heuristic, null);
+    }
+
+    /**
+     * Constructor method
+     *
+     * @param heuristic the admissible heuristic that drives the search
+     * @param transpositions the table of the grids already reached, may be null; it can be shared with other solvers
+     * @throws IllegalArgumentException if heuristic is null
+     */
+    public Solver(Heuristic heuristic, TranspositionTable transpositions) {
+        if (heuristic == null) throw new IllegalArgumentException("Heuristic can't be null!");
+        this.heuristic = heuristic;
+        this.transpositions = transpositions;
+    }
+
+    /**
+     * Finds a shortest sequence of movements that solves the board.
+     * The board itself is not modified.
+     *
+     * @param board the board to solve
+     * @return the movements to apply in order, empty if the board is already solved
+     * @throws IllegalArgumentException if board is null or its size is not supported by the heuristic
+     */
+    public List<SlidingDirection> solve(GameBoard board) {
+        return solve(board, null);
+    }
+
+    /**
+     * Finds a shortest sequence of movements that solves the board, reporting the progress to a monitor.
+     * The board itself is not modified.
+     *
+     * @param board the board to solve
+     * @param monitor the monitor that receives the progress and can cancel the search, may be null
+     * @return the movements to apply in order, empty if the board is already solved
+     * @throws IllegalArgumentException if board is null or its size is not supported by the heuristic
+     * @throws CancellationException if the monitor cancelled the search
+     */
+    public List<SlidingDirection> solve(GameBoard board, SearchMonitor monitor) {
+        if (board == null) throw new IllegalArgumentException("Board can't be null!");
+        if (!this.heuristic.supports(board.getGridSize())) throw new IllegalArgumentException("The heuristic doesn't support " + board.getGridSize() + "x" + board.getGridSize() + " grids!");
+
+        long start = System.nanoTime();
+        int[] cells = board.getCells();
+        int h = this.heuristic.initialize(cells, board.getGridSize());
+        IdaSearch search = new IdaSearch(cells, board.getGridSize(), this.heuristic, null, this.transpositions);
+        search.setMonitor(monitor);
+        try {
+            int bound = h;
+            while (true) {
+                if (monitor != null && !monitor.onProgress(bound, search.getExpandedNodes())) throw new CancellationException("The search has been cancelled!");
+                int result = search.iterate(null, 0, bound, h, -1, nextGeneration());
+                if (result == IdaSearch.FOUND) {
+                    MetricsRecorder metrics = Metrics.recorder();
+                    if (metrics != null) metrics.solved("Solver", board.getGridSize(), bound, search.getExpandedNodes(),
+                            search.getHeuristicEvaluations() + 1, System.nanoTime() - start);
+                    return search.solution(bound);
+                }
+                if (result == IdaSearch.CANCELLED) throw new CancellationException("The search has been cancelled!");
+                bound = result;
+            }
+        } finally {
+            this.expandedNodes = search.getExpandedNodes();
+            this.heuristicEvaluations = search.getHeuristicEvaluations() + 1; // the initial evaluation of the whole grid
+        }
+    }
+
+    private int nextGeneration() {
+        return this.transpositions == null ? 0 : this.transpositions.nextGeneration();
+    }
+
+    /**
+     * Returns the number of nodes expanded by the last search
+     * @return the number of expanded nodes
+     */
+    public long getExpandedNodes() {
+        return this.expandedNodes;
+    }
+
+    /**
+     * Returns the number of evaluations of the heuristic made by the last search
+     * @return the number of heuristic evaluations
+     */
+    public long getHeuristicEvaluations() {
+        return this.heuristicEvaluations;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Solver;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class implements a fixed-size, lock-free transposition table for the IDA* searches.
+ * It records, for every grid reached in an iteration (by its Zobrist hash), the smallest depth it was reached at:
+ * a search that reaches the same grid again at the same or a bigger depth can skip it, because its subtree
+ * has already been explored (or is being explored by another thread) with at least the same budget.
+ * <p>
+ * Entries are two longs of an open-addressing {@code long[]}: the key xor the data, and the data.
+ * Writers never lock; a reader that sees the halves of two different writes gets a key that doesn't
+ * match and treats the entry as missing, so races can only lose entries, never give wrong answers.
+ * Every iteration uses a new generation, so entries of old iterations become free without clearing the table.
+ * One table can be shared by solvers running on different threads.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public final class TranspositionTable {
+
+    public static final int MAX_ENTRIES = 1 << 28;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int PROBES = 4; // entries examined for every key
+
+    private final long[] slots; // key ^ data, data
+    private final int mask;
+    private final AtomicInteger generation = new AtomicInteger();
+
+    /**
+     * Constructor method
+     *
+     * @param entries the number of entries, rounded up to a power of 2; every entry takes 16 bytes
+     * @throws IllegalArgumentException if entries is not in the 1-{@code MAX_ENTRIES} range
+     */
+    public TranspositionTable(int entries) {
+        if (entries < 1 || entries > MAX_ENTRIES) throw new IllegalArgumentException("The number of entries must be in the 1-" + MAX_ENTRIES + " range!");
+        int capacity = Math.max(PROBES, Integer.highestOneBit(entries - 1) << 1);
+        this.slots = new long[capacity * 2];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Starts a new generation: the entries of the previous ones are treated as free
+     *
+     * @return the generation to pass to {@link #visit}
+     */
+    int nextGeneration() {
+        int next;
+        do {
+            next = this.generation.incrementAndGet();
+        } while (next == 0); // 0 marks the empty entries
+        return next;
+    }
+
+    /**
+     * Records that a grid has been reached at the given depth
+     *
+     * @param key the Zobrist hash of the grid
+     * @param depth the number of movements from the root
+     * @param generation the generation of the current iteration
+     * @return true if the grid was already reached in this generation at the same or a smaller depth,
+     *         so its subtree can be skipped
+     */
+    boolean visit(long key, int depth, int generation) {
+        long data = (long) generation << 32 | depth;
+        int first = (int) (key ^ (key >>> 32));
+        int victim = -1;
+        int victimDepth = -1;
+        for (int p = 0; p < PROBES; p++) {
+            int slot = ((first + p) & this.mask) << 1;
+            long stored = (long) SLOTS.getOpaque(this.slots, slot + 1);
+            long check = (long) SLOTS.getOpaque(this.slots, slot);
+            boolean current = (int) (stored >>> 32) == generation;
+            if ((check ^ stored) == key && stored != 0) {
+                if (current && (int) stored <= depth) return true;
+                store(slot, key, data);
+                return false;
+            }
+            // stale entries are replaced first, then the deepest one (the smallest subtree)
+            if (!current) {
+                if (victimDepth != Integer.MAX_VALUE) {
+                    victim = slot;
+                    victimDepth = Integer.MAX_VALUE;
+                }
+            } else if ((int) stored > victimDepth) {
+                victim = slot;
+                victimDepth = (int) stored;
+            }
+        }
+        store(victim, key, data);
+        return false;
+    }
+
+    private void store(int slot, long key, long data) {
+        SLOTS.setOpaque(this.slots, slot + 1, data);
+        SLOTS.setOpaque(this.slots, slot, key ^ data);
+    }
+
+    /**
+     * Returns the number of entries of the table
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return this.mask + 1;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Solver;
+
+import it.GTFV.GameOfFifteen.Game.PackedBoard;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class implements the walking distance heuristic for the 4x4 grid, combined with
+ * {@link LinearConflictHeuristic} through a max.
+ * The rows of a grid are summarized by how many tiles of every goal row each row holds, and by the row of
+ * the empty cell; the walking distance of the rows is the number of vertical slides needed to bring that
+ * summary to the goal one, ignoring the order inside the rows. The same holds for the columns, and since
+ * vertical and horizontal slides are independent the two distances can be added.
+ * <p>
+ * All the summaries (24964) are reached by a breadth-first search from the goal when the class is loaded,
+ * together with the summary that every vertical slide leads to, so after a slide the estimate is
+ * a lookup in the tables. The goal is symmetric, so the columns use the tables of the rows.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public final class WalkingDistanceHeuristic implements Heuristic {
+
+    private static final int SIZE = PackedBoard.SIZE;
+    private static final int COUNT_BITS = 3; // a row holds at most 4 tiles of a goal row
+    private static final int BLANK_SHIFT = SIZE * SIZE * COUNT_BITS;
+    private static final int LINKS = 2 * SIZE; // previous or next row, for every goal row of the moving tile
+
+    private static final long[] KEYS; // the summaries, sorted
+    private static final short[] IDS; // the index of every sorted summary
+    private static final short[] NEXT; // the summary reached by every slide, -1 if it is not possible
+    private static final byte[] DISTANCE; // the walking distance of every summary
+
+    static {
+        long[] states = new long[1 << 15];
+        byte[] distance = new byte[states.length];
+        short[] next = new short[states.length * LINKS];
+        Map<Long, Integer> index = new HashMap<>();
+
+        long goal = (long) (SIZE - 1) << BLANK_SHIFT;
+        for (int row = 0; row < SIZE; row++) {
+            goal += (long) (row == SIZE - 1 ? SIZE - 1 : SIZE) << shift(row, row);
+        }
+        states[0] = goal;
+        index.put(goal, 0);
+        int count = 1;
+        for (int i = 0; i < count; i++) {
+            long state = states[i];
+            int blank = (int) (state >>> BLANK_SHIFT);
+            for (int side = 0; side < 2; side++) {
+                int row = side == 0 ? blank - 1 : blank + 1;
+                for (int goalRow = 0; goalRow < SIZE; goalRow++) {
+                    int link = i * LINKS + side * SIZE + goalRow;
+                    if (row < 0 || row >= SIZE || count(state, row, goalRow) == 0) {
+                        next[link] = -1;
+                        continue;
+                    }
+                    // a tile of goalRow leaves the row and takes the place of the empty cell
+                    long child = state - (1L << shift(row, goalRow)) + (1L << shift(blank, goalRow));
+                    child = (child & ~(3L << BLANK_SHIFT)) | (long) row << BLANK_SHIFT;
+                    Integer id = index.get(child);
+                    if (id == null) {
+                        id = count++;
+                        index.put(child, id);
+                        states[id] = child;
+                        distance[id] = (byte) (distance[i] + 1);
+                    }
+                    next[link] = id.shortValue();
+                }
+            }
+        }
+
+        KEYS = Arrays.copyOf(states, count);
+        Arrays.sort(KEYS);
+        IDS = new short[count];
+        for (int k = 0; k < count; k++) {
+            IDS[k] = index.get(KEYS[k]).shortValue();
+        }
+        NEXT = Arrays.copyOf(next, count * LINKS);
+        DISTANCE = Arrays.copyOf(distance, count);
+    }
+
+    private final LinearConflictHeuristic linearConflict;
+    private int rows; // the summary of the rows
+    private int columns; // the summary of the columns
+    private int conflicts; // the estimate of the linear conflict heuristic
+
+    /**
+     * Constructor method
+     */
+    public WalkingDistanceHeuristic() {
+        this(new LinearConflictHeuristic());
+    }
+
+    private WalkingDistanceHeuristic(LinearConflictHeuristic linearConflict) {
+        this.linearConflict = linearConflict;
+    }
+
+    @Override
+    public boolean supports(int size) {
+        return size == SIZE;
+    }
+
+    @Override
+    public int initialize(int[] cells, int size) {
+        long rowState = 0;
+        long columnState = 0;
+        for (int i = 0; i < cells.length; i++) {
+            int value = cells[i];
+            if (value == 0) {
+                rowState |= (long) (i / SIZE) << BLANK_SHIFT;
+                columnState |= (long) (i % SIZE) << BLANK_SHIFT;
+            } else {
+                rowState += 1L << shift(i / SIZE, (value - 1) / SIZE);
+                columnState += 1L << shift(i % SIZE, (value - 1) % SIZE);
+            }
+        }
+        this.rows = id(rowState);
+        this.columns = id(columnState);
+        this.conflicts = this.linearConflict.initialize(cells, size);
+        return estimate();
+    }
+
+    @Override
+    public int update(int[] cells, int from, int to) {
+        int goal = cells[from] - 1;
+        int side = to > from ? 1 : 0;
+        if (Math.abs(from - to) == SIZE) {
+            this.rows = NEXT[this.rows * LINKS + side * SIZE + goal / SIZE];
+        } else {
+            this.columns = NEXT[this.columns * LINKS + side * SIZE + goal % SIZE];
+        }
+        this.conflicts = this.linearConflict.update(cells, from, to);
+        return estimate();
+    }
+
+    @Override
+    public Heuristic copy() {
+        WalkingDistanceHeuristic copy = new WalkingDistanceHeuristic((LinearConflictHeuristic) this.linearConflict.copy());
+        copy.rows = this.rows;
+        copy.columns = this.columns;
+        copy.conflicts = this.conflicts;
+        return copy;
+    }
+
+    /**
+     * Returns the walking distance alone, without the linear conflicts
+     *
+     * @return the walking distance of the last evaluated grid
+     */
+    public int getWalkingDistance() {
+        return DISTANCE[this.rows] + DISTANCE[this.columns];
+    }
+
+    /**
+     * Returns the number of row (or column) summaries
+     *
+     * @return the number of entries of the tables
+     */
+    public static int getTableSize() {
+        return DISTANCE.length;
+    }
+
+    private int estimate() {
+        return Math.max(getWalkingDistance(), this.conflicts);
+    }
+
+    private static int shift(int row, int goalRow) {
+        return (row * SIZE + goalRow) * COUNT_BITS;
+    }
+
+    private static int count(long state, int row, int goalRow) {
+        return (int) (state >>> shift(row, goalRow)) & ((1 << COUNT_BITS) - 1);
+    }
+
+    private static int id(long state) {
+        int k = Arrays.binarySearch(KEYS, state);
+        if (k < 0) throw new IllegalArgumentException("The grid is not a valid 4x4 grid!");
+        return IDS[k];
+    }
+}
@@ -1,5 +1,10 @@
 module it.GTFV.GameOfFifteen {
+    requires jdk.jfr;
+
     exports it.GTFV.GameOfFifteen;
     exports it.GTFV.GameOfFifteen.Game;
+    exports it.GTFV.GameOfFifteen.Metrics;
     exports it.GTFV.GameOfFifteen.Models;
+    exports it.GTFV.GameOfFifteen.Records;
+    exports it.GTFV.GameOfFifteen.Solver;
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Game;
+
+import it.GTFV.GameOfFifteen.Models.PackedMoves;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the history of the movements applied in bulk.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+class GameBoardTest {
+
+    /**
+     * Returns a sequence of possible movements from the given board, leaving it unchanged
+     */
+    private static String possibleMoves(GameBoard board, int count, long seed) {
+        GameBoard copy = GameBoard.of(board.getGridSize(), board.getCells());
+        Random random = new Random(seed);
+        StringBuilder moves = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            SlidingDirection[] enabled = copy.enabledMoves();
+            SlidingDirection direction = enabled[random.nextInt(enabled.length)];
+            copy.move(direction);
+            moves.append(direction.name().charAt(0));
+        }
+        return moves.toString();
+    }
+
+    @Test
+    void undoAndRedoAfterMoveAll() {
+        GameBoard board = GameBoard.random(4, 3);
+        int[] start = board.getCells();
+        String moves = possibleMoves(board, 100, 3); // more than a word of packed movements
+        assertEquals(moves.length(), board.moveAll(moves));
+        int[] end = board.getCells();
+        assertEquals(moves.length(), board.getMoveCount());
+
+        for (int i = 0; i < moves.length(); i++) assertTrue(board.undo());
+        assertFalse(board.undo());
+        assertArrayEquals(start, board.getCells());
+        assertEquals(0, board.getMoveCount());
+
+        for (int i = 0; i < moves.length(); i++) assertTrue(board.redo());
+        assertFalse(board.redo());
+        assertArrayEquals(end, board.getCells());
+
+        board.undo();
+        board.move(board.enabledMoves()[0]); // a new movement drops the undone one
+        assertFalse(board.canRedo());
+        assertEquals(moves.length(), board.getMoveCount());
+    }
+
+    @Test
+    void moveAllStopsAtTheFirstImpossibleMovement() {
+        GameBoard board = new GameBoard(3, 0); // the empty cell is in the bottom right corner
+        int applied = board.moveAll("LLL");
+        assertEquals(2, applied);
+        assertEquals(2, board.getMoveCount());
+        assertTrue(board.undo());
+        assertTrue(board.undo());
+        assertTrue(board.isSolved());
+    }
+
+    @Test
+    void applyAllLeavesNoHistory() {
+        GameBoard recorded = GameBoard.random(5, 8);
+        GameBoard replayed = GameBoard.of(5, recorded.getCells());
+        replayed.move(replayed.enabledMoves()[0]);
+        replayed.undo(); // leaves a movement to redo
+        String moves = possibleMoves(recorded, 70, 8);
+
+        assertEquals(moves.length(), recorded.moveAll(moves));
+        assertEquals(moves.length(), replayed.applyAll(PackedMoves.pack(moves), moves.length()));
+        assertArrayEquals(recorded.getCells(), replayed.getCells());
+        assertEquals(recorded.getZobristHash(), replayed.getZobristHash());
+        assertFalse(replayed.canUndo());
+        assertFalse(replayed.canRedo());
+    }
+}
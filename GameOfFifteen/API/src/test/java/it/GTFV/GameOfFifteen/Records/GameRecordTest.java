@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Records;
+
+import it.GTFV.GameOfFifteen.Game.GameBoard;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the records written by {@link GameRecordWriter} are read back unchanged by {@link GameRecordReader},
+ * both in order and through the index of their offsets.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+class GameRecordTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTrip() throws IOException {
+        Path file = this.directory.resolve("games.rec");
+        Random random = new Random(11);
+        List<GameRecord> records = new ArrayList<>();
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            for (int size = GameBoard.MIN_SIZE; size <= 12; size++) {
+                List<SlidingDirection> moves = new ArrayList<>();
+                int count = size * 37; // partial words of movements
+                for (int i = 0; i < count; i++) moves.add(SlidingDirection.values()[random.nextInt(4)]);
+                GameRecord record = GameRecord.of(GameBoard.random(size, size), moves);
+                records.add(record);
+                writer.write(record);
+            }
+            assertEquals(records.size(), writer.getRecordCount());
+        }
+
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            for (GameRecord expected : records) {
+                assertTrue(reader.next());
+                assertSameGame(expected, reader.read());
+            }
+            assertFalse(reader.next());
+        }
+
+        long[] offsets = GameRecordReader.index(file);
+        assertEquals(records.size(), offsets.length);
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            for (int i = offsets.length - 1; i >= 0; i--) {
+                reader.seek(offsets[i]);
+                assertTrue(reader.next());
+                assertSameGame(records.get(i), reader.read());
+            }
+        }
+    }
+
+    private static void assertSameGame(GameRecord expected, GameRecord actual) {
+        assertEquals(expected.gridSize(), actual.gridSize());
+        assertArrayEquals(expected.start(), actual.start());
+        assertEquals(expected.moveList(), actual.moveList());
+    }
+}
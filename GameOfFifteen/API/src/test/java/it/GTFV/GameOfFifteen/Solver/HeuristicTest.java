@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Solver;
+
+import it.GTFV.GameOfFifteen.Game.GameBoard;
+import it.GTFV.GameOfFifteen.Models.NeighborTable;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the heuristics are admissible: along an optimal solution, the estimate of every grid
+ * never exceeds the number of movements still needed. The incremental updates must agree with a full evaluation.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+class HeuristicTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void linearConflictIsAdmissible() {
+        for (long seed = 0; seed < 10; seed++) {
+            assertAdmissible(new LinearConflictHeuristic(), GameBoard.random(3, seed));
+            assertAdmissible(new LinearConflictHeuristic(), SolverTest.walk(4, 40, seed));
+        }
+    }
+
+    @Test
+    void walkingDistanceIsAdmissible() {
+        for (long seed = 0; seed < 10; seed++) {
+            assertAdmissible(new WalkingDistanceHeuristic(), SolverTest.walk(4, 40, seed));
+        }
+    }
+
+    @Test
+    void patternDatabaseIsAdmissible() throws IOException {
+        Path file = this.directory.resolve("small.pdb");
+        PatternDatabaseGenerator.generate(file, new int[][]{{1, 2, 3}, {4, 5, 6}, {9, 13}}); // a partial partition, the other tiles are not counted
+        PatternDatabase database = PatternDatabase.load(file);
+        for (long seed = 0; seed < 10; seed++) {
+            assertAdmissible(new PatternDatabaseHeuristic(database), SolverTest.walk(4, 40, seed));
+        }
+    }
+
+    /**
+     * Follows an optimal solution of the board, comparing the estimate of every grid with the remaining movements
+     */
+    private static void assertAdmissible(Heuristic heuristic, GameBoard board) {
+        int size = board.getGridSize();
+        List<SlidingDirection> solution = new Solver().solve(board);
+        NeighborTable table = NeighborTable.of(size);
+        int[] cells = board.getCells();
+        int blank = board.getEmptyPosition().index();
+        int estimate = heuristic.initialize(cells, size);
+        for (int i = 0; i <= solution.size(); i++) {
+            int remaining = solution.size() - i;
+            assertTrue(estimate <= remaining, "estimate " + estimate + " with " + remaining + " movements to go");
+            assertEquals(estimate, heuristic.copy().initialize(cells.clone(), size), "the update must match a full evaluation");
+            if (i == solution.size()) break;
+
+            int to = table.neighbor(blank, solution.get(i).ordinal());
+            cells[blank] = cells[to];
+            cells[to] = 0;
+            estimate = heuristic.update(cells, blank, to);
+            blank = to;
+        }
+        assertEquals(0, estimate);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Solver;
+
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that the solution cache file survives a crash in the middle of a record.
+ * The caches keep 1 byte in memory, so every lookup is answered by the file.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+class SolutionCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopensAfterTornRecord() throws IOException {
+        Path file = this.directory.resolve("solutions.gslc");
+        Random random = new Random(7);
+        List<List<SlidingDirection>> solutions = new ArrayList<>();
+        try (SolutionCache cache = SolutionCache.open(file, 1)) {
+            for (int key = 1; key <= 100; key++) {
+                solutions.add(randomMoves(random));
+                cache.put(key, solutions.get(key - 1));
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 3); // the last record loses its tail
+        }
+
+        try (SolutionCache cache = SolutionCache.open(file, 1)) {
+            assertEquals(99, cache.getFileSize());
+            assertNull(cache.get(100));
+            for (int key = 1; key < 100; key++) {
+                assertEquals(solutions.get(key - 1), cache.get(key), "key " + key);
+            }
+            cache.put(100, solutions.get(99)); // appended where the torn record was
+            cache.put(101, List.of(SlidingDirection.UP));
+        }
+
+        try (SolutionCache cache = SolutionCache.open(file, 1)) {
+            assertEquals(101, cache.getFileSize());
+            for (int key = 1; key <= 100; key++) {
+                assertEquals(solutions.get(key - 1), cache.get(key), "key " + key);
+            }
+            assertEquals(List.of(SlidingDirection.UP), cache.get(101));
+        }
+    }
+
+    private static List<SlidingDirection> randomMoves(Random random) {
+        SlidingDirection[] moves = new SlidingDirection[random.nextInt(80)];
+        for (int i = 0; i < moves.length; i++) moves[i] = SlidingDirection.values()[random.nextInt(4)];
+        return List.of(moves);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Solver;
+
+import it.GTFV.GameOfFifteen.Game.GameBoard;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the solvers find solutions of the same, optimal, length on seeded boards.
+ * The bidirectional breadth-first search is exhaustive, so its length is the reference.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+class SolverTest {
+
+    /**
+     * Returns the board reached from the solved one with a seeded random walk that never undoes the previous movement
+     *
+     * @param gridSize the number of rows and columns of the grid
+     * @param moves the length of the walk, an upper bound of the optimal solution
+     * @param seed the seed of the walk
+     * @return a board without history
+     */
+    static GameBoard walk(int gridSize, int moves, long seed) {
+        GameBoard board = new GameBoard(gridSize, 0);
+        Random random = new Random(seed);
+        int previous = -1;
+        for (int i = 0; i < moves; i++) {
+            SlidingDirection[] enabled = board.enabledMoves();
+            SlidingDirection direction = enabled[random.nextInt(enabled.length)];
+            if (direction.ordinal() == (previous ^ 1)) {
+                i--;
+                continue;
+            }
+            board.move(direction);
+            previous = direction.ordinal();
+        }
+        return GameBoard.of(gridSize, board.getCells());
+    }
+
+    static void assertSolves(GameBoard board, List<SlidingDirection> solution) {
+        GameBoard copy = GameBoard.of(board.getGridSize(), board.getCells());
+        assertEquals(solution.size(), copy.moveAll(solution), "every movement must be possible");
+        assertTrue(copy.isSolved(), "the solution must solve the board");
+    }
+
+    @Test
+    void idaStarMatchesBidirectionalOn3x3() {
+        for (long seed = 0; seed < 20; seed++) {
+            GameBoard board = GameBoard.random(3, seed);
+            List<SlidingDirection> solution = new Solver().solve(board);
+            assertSolves(board, solution);
+            assertEquals(new BidirectionalSolver().solve(board).size(), solution.size(), "seed " + seed);
+        }
+    }
+
+    @Test
+    void idaStarMatchesBidirectionalOn4x4() {
+        for (long seed = 0; seed < 6; seed++) {
+            GameBoard board = walk(4, 36, seed);
+            List<SlidingDirection> solution = new Solver().solve(board);
+            assertSolves(board, solution);
+            assertEquals(new BidirectionalSolver().solve(board).size(), solution.size(), "seed " + seed);
+        }
+    }
+
+    @Test
+    void walkingDistanceSolverIsOptimal() {
+        Solver solver = new Solver(new WalkingDistanceHeuristic());
+        for (long seed = 0; seed < 6; seed++) {
+            GameBoard board = walk(4, 40, seed);
+            List<SlidingDirection> solution = solver.solve(board);
+            assertSolves(board, solution);
+            assertEquals(new Solver().solve(board).size(), solution.size(), "seed " + seed);
+        }
+    }
+
+    @Test
+    void parallelMatchesSequential() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ParallelSolver parallel = new ParallelSolver(new LinearConflictHeuristic(), pool);
+            for (int size = 2; size <= 4; size++) {
+                for (long seed = 0; seed < 5; seed++) {
+                    GameBoard board = size == 4 ? walk(4, 40, seed) : GameBoard.random(size, seed);
+                    List<SlidingDirection> solution = parallel.solve(board);
+                    assertSolves(board, solution);
+                    assertEquals(new Solver().solve(board).size(), solution.size(), size + "x" + size + " seed " + seed);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void solvedBoardNeedsNoMovement() {
+        for (int size = 2; size <= 5; size++) {
+            GameBoard board = new GameBoard(size, 0);
+            assertTrue(new Solver().solve(board).isEmpty());
+            assertTrue(new ParallelSolver().solve(board).isEmpty());
+            if (size <= 4) assertTrue(new BidirectionalSolver().solve(board).isEmpty()); // it packs the grid in a long
+        }
+    }
+}
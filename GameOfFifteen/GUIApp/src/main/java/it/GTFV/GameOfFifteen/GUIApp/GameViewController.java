@@ -22,11 +22,19 @@
 
 package it.GTFV.GameOfFifteen.GUIApp;
 
+import it.GTFV.GameOfFifteen.Game.BoardSnapshot;
 import it.GTFV.GameOfFifteen.Game.GameBoard;
 import it.GTFV.GameOfFifteen.Models.Position;
 import it.GTFV.GameOfFifteen.Models.SlidingDirection;
 import it.GTFV.GameOfFifteen.Models.Tile;
+import it.GTFV.GameOfFifteen.Solver.Solver;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.animation.TranslateTransition;
 import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.NumberBinding;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -44,8 +52,11 @@ import javafx.scene.paint.Color;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
+import javafx.util.Duration;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  *
@@ -55,11 +66,19 @@ import java.io.IOException;
  * @author Francesco Valentini
  */
 public class GameViewController {
+    private static final Duration SLIDE_DURATION = Duration.millis(80);
+    private static final Duration SOLUTION_STEP = Duration.millis(150); // time between two movements of the solution
+
     private GameBoard grid;
+    private Button[] tileButtons = new Button[0]; // one button for every tile value, 0 is the empty cell; reused across games
+    private TranslateTransition[] slides = new TranslateTransition[0]; // the slide animation of every button
+    private Task<List<SlidingDirection>> solveTask; // the running search, null if there is none
+    private Timeline solution; // the running solution animation, null if there is none
     @FXML private GridPane boardGrid; //the board that contains the tiles
     @FXML private TextField shuffleMovesField;//the text field where you put the number of moves for the shuffle
     @FXML private Label statusLabel;//it shows you when you win
     @FXML private Button btnResetGame;
+    @FXML private Button btnSolve;
 
     /**
      * This method initializes the window and sets its dimensions
@@ -71,9 +90,9 @@ public class GameViewController {
         Platform.runLater(() -> {
             Stage stage = (Stage) boardGrid.getScene().getWindow();
             stage.setWidth(500);
-            stage.setHeight(600);
+            stage.setHeight(650);
             stage.setMinWidth(500);
-            stage.setMinHeight(600);
+            stage.setMinHeight(650);
 
             boardGrid.prefWidthProperty().bind(stage.widthProperty().multiply(0.8));
             boardGrid.prefHeightProperty().bind(stage.heightProperty().multiply(0.6));
@@ -90,46 +109,193 @@ public class GameViewController {
     @FXML
     private void resetGame() {
         int shuffleMoves = Integer.parseInt(shuffleMovesField.getText());
+        stopSolving();
         grid = new GameBoard(shuffleMoves);
         updateBoard();
+        statusLabel.setText("");
         btnResetGame.setText("Reset");
     }
 
     /**
-     * This method is used to update the boardGrid
+     * This method is executed when the solve button is clicked.
+     * It searches the solution on a background thread, showing its progress in the statusLabel,
+     * and then plays it on the board. Clicking again while it runs cancels it.
+     *
+     * @author Giulia Trozzi
+     * @author Francesco Valentini
+     */
+    @FXML
+    private void solveGame() {
+        if (solveTask != null || solution != null) {
+            stopSolving();
+            statusLabel.setText("Solver stopped");
+            return;
+        }
+        if (grid == null || grid.isSolved()) return;
+
+        BoardSnapshot snapshot = BoardSnapshot.of(grid); // immutable, the solver thread never reads the board shown
+        Task<List<SlidingDirection>> task = new Task<>() {
+            @Override
+            protected List<SlidingDirection> call() {
+                long start = System.nanoTime();
+                return new Solver().solve(snapshot.toGameBoard(), (bound, nodes) -> {
+                    double seconds = (System.nanoTime() - start) / 1e9;
+                    updateMessage(String.format("Searching %d moves, %,.0f nodes/s", bound, seconds == 0 ? 0 : nodes / seconds));
+                    return !isCancelled();
+                });
+            }
+        };
+        task.setOnSucceeded(event -> {
+            statusLabel.textProperty().unbind();
+            solveTask = null;
+            List<SlidingDirection> moves = task.getValue();
+            statusLabel.setText("Solution: " + moves.size() + " moves");
+            playSolution(moves);
+        });
+        task.setOnFailed(event -> {
+            statusLabel.textProperty().unbind();
+            solveTask = null;
+            statusLabel.setText("Solver error: " + task.getException().getMessage());
+            solvingFinished();
+        });
+
+        solveTask = task;
+        boardGrid.setDisable(true); // the solution is only valid for the current board
+        btnSolve.setText("Stop");
+        statusLabel.textProperty().bind(task.messageProperty());
+
+        Thread thread = new Thread(task, "solver");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * This method plays the movements of a solution on the board, one every {@code SOLUTION_STEP}
+     *
+     * @param moves the movements to apply in order
+     * @author Giulia Trozzi
+     * @author Francesco Valentini
+     */
+    private void playSolution(List<SlidingDirection> moves) {
+        solution = new Timeline();
+        for (int i = 0; i < moves.size(); i++) {
+            SlidingDirection direction = moves.get(i);
+            solution.getKeyFrames().add(new KeyFrame(SOLUTION_STEP.multiply(i + 1), event -> moveTile(direction)));
+        }
+        solution.setOnFinished(event -> {
+            solution = null;
+            solvingFinished();
+            isSolved();
+        });
+        solution.play();
+    }
+
+    /**
+     * This method cancels the running search and stops the solution animation, if any
+     *
+     * @author Giulia Trozzi
+     * @author Francesco Valentini
+     */
+    private void stopSolving() {
+        if (solveTask != null) {
+            statusLabel.textProperty().unbind();
+            solveTask.cancel();
+            solveTask = null;
+        }
+        if (solution != null) {
+            solution.stop();
+            solution = null;
+        }
+        solvingFinished();
+    }
+
+    /**
+     * This method gives the control of the board back to the player
+     *
+     * @author Giulia Trozzi
+     * @author Francesco Valentini
+     */
+    private void solvingFinished() {
+        boardGrid.setDisable(false);
+        btnSolve.setText("Solve");
+    }
+
+    /**
+     * This method moves the empty cell in the given direction, on the grid and on the boardGrid
+     *
+     * @param direction the direction of the empty cell
+     * @author Giulia Trozzi
+     * @author Francesco Valentini
+     */
+    private void moveTile(SlidingDirection direction) {
+        Position target = grid.getEmptyPosition().next(direction);
+        if (target == null) return;
+        int value = grid.getValue(target.row(), target.column());
+        if (grid.move(direction)) slideTile(value);
+    }
+
+    /**
+     * This method places every tile of the grid in its cell of the boardGrid.
+     * The buttons are only created when the grid has more tiles than the previous one,
+     * otherwise the existing ones are moved.
      *
      * @author Giulia Trozzi
      * @author Francesco Valentini
      */
     private void updateBoard(){
-        boardGrid.getChildren().clear(); // Clear the boardGrid
-        Tile[][] tiles = grid.getBoard();
+        int size = grid.getGridSize();
+        if (tileButtons.length != size * size) buildTiles(size);
 
-        for (int row = 0; row < grid.getGridSize(); row++) {
-            for (int col = 0; col < grid.getGridSize(); col++) {
-                Button tile = buildTile(tiles[row][col]);
-                boardGrid.add(tile,col,row);
+        Tile[][] tiles = grid.getBoard();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int value = tiles[row][col].getValue();
+                slides[value].stop();
+                tileButtons[value].setTranslateX(0);
+                tileButtons[value].setTranslateY(0);
+                GridPane.setConstraints(tileButtons[value], col, row);
             }
         }
     }
 
     /**
-     * This method return a button that represent a tile
+     * This method prepares one button for every tile of a grid, reusing the existing ones
      *
-     * @param t the tile
-     * @return a button representing the tile
+     * @param size the number of rows and columns of the grid
      * @author Giulia Trozzi
      * @author Francesco Valentini
      */
-    private Button buildTile(Tile t){
-        double tileSize = Math.min(boardGrid.getPrefWidth() / grid.getGridSize(), boardGrid.getPrefHeight() / grid.getGridSize());
+    private void buildTiles(int size){
+        int previous = tileButtons.length;
+        tileButtons = Arrays.copyOf(tileButtons, size * size);
+        slides = Arrays.copyOf(slides, size * size);
+        for (int value = previous; value < tileButtons.length; value++) {
+            tileButtons[value] = buildTile(value);
+            slides[value] = new TranslateTransition(SLIDE_DURATION, tileButtons[value]);
+        }
 
-        Button tileButton = new Button(t.getValue() == 0 ? "" : String.valueOf(t.getValue()));
+        NumberBinding tileSize = Bindings.min(boardGrid.prefWidthProperty().divide(size), boardGrid.prefHeightProperty().divide(size));
+        for (Button tileButton : tileButtons) {
+            tileButton.minWidthProperty().bind(tileSize);
+            tileButton.minHeightProperty().bind(tileSize);
+        }
+        boardGrid.getChildren().setAll(tileButtons);
+    }
 
-        tileButton.setMinSize(tileSize, tileSize);
+    /**
+     * This method return a button that represent a tile
+     *
+     * @param value the tile value
+     * @return a button representing the tile
+     * @author Giulia Trozzi
+     * @author Francesco Valentini
+     */
+    private Button buildTile(int value){
+        Button tileButton = new Button(value == 0 ? "" : String.valueOf(value));
         tileButton.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        tileButton.setUserData(value);
 
-        if (t.getValue() == 0) {
+        if (value == 0) {
             tileButton.getStyleClass().add("empty-tile");
 
         } else {
@@ -141,6 +307,34 @@ public class GameViewController {
         return tileButton;
     }
 
+    /**
+     * This method moves the button of a tile into the cell of the empty button, and the empty button
+     * into the old cell of the tile. Only these two nodes change; the tile slides from its old cell.
+     *
+     * @param value the value of the tile that has been moved
+     * @author Giulia Trozzi
+     * @author Francesco Valentini
+     */
+    private void slideTile(int value){
+        Button tile = tileButtons[value];
+        Button empty = tileButtons[0];
+        int col = GridPane.getColumnIndex(tile);
+        int row = GridPane.getRowIndex(tile);
+        int emptyCol = GridPane.getColumnIndex(empty);
+        int emptyRow = GridPane.getRowIndex(empty);
+        GridPane.setConstraints(tile, emptyCol, emptyRow);
+        GridPane.setConstraints(empty, col, row);
+
+        // the tile starts where it was and slides into its new cell
+        TranslateTransition slide = slides[value];
+        slide.stop();
+        slide.setFromX((col - emptyCol) * (tile.getWidth() + boardGrid.getHgap()));
+        slide.setFromY((row - emptyRow) * (tile.getHeight() + boardGrid.getVgap()));
+        slide.setToX(0);
+        slide.setToY(0);
+        slide.playFromStart();
+    }
+
     /**
      * This method is executed when the empty tile is clicked
      *
@@ -150,16 +344,11 @@ public class GameViewController {
      */
     private void handleTileButtonClick(ActionEvent actionEvent) {
         Button clickedButton = (Button) actionEvent.getSource(); //identifies the clicked button
-        int tileValue = Integer.parseInt(clickedButton.getText());//tileValue is what I read, the text of the button
+        int tileValue = (Integer) clickedButton.getUserData();//tileValue is the value the button was built for
 
-        Position clickedPosition = grid.get(tileValue).getPosition();//gets the position of the clicked tile
-        Position emptyPosition = grid.getEmptyPosition();//gets the position of the empty tile
-
-        if(clickedPosition.isAdjacent(emptyPosition)){
-            SlidingDirection direction = clickedPosition.getDirection(emptyPosition);//determines the wanted direction of the empty tile
-            if (direction != null && grid.move(direction)){
-                updateBoard();
-            }
+        SlidingDirection direction = grid.getMoveFor(tileValue);//determines the wanted direction of the empty tile, null if the tile is not adjacent
+        if (direction != null && grid.move(direction)){
+            slideTile(tileValue);
         }
         isSolved();
     }
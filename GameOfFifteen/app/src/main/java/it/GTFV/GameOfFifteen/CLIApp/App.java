@@ -23,20 +23,149 @@
 package it.GTFV.GameOfFifteen.CLIApp;
 
 import it.GTFV.GameOfFifteen.Game.GameBoard;
+import it.GTFV.GameOfFifteen.Metrics.CounterRecorder;
+import it.GTFV.GameOfFifteen.Metrics.JfrRecorder;
+import it.GTFV.GameOfFifteen.Metrics.Metrics;
 import it.GTFV.GameOfFifteen.Models.SlidingDirection;
-import it.GTFV.GameOfFifteen.Models.Tile;
+import it.GTFV.GameOfFifteen.Solver.HintEngine;
+import it.GTFV.GameOfFifteen.Solver.PatternDatabase;
+import it.GTFV.GameOfFifteen.Solver.SolutionCache;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 public class App {
+    private static final BufferedReader keyboard = new BufferedReader(new InputStreamReader(System.in)); // one reader, so piped input is not lost
+    private static final long CACHE_BYTES = 64L << 20; // heap of the solutions cached in memory by the batch mode
+    private static final StringBuilder boardBuffer = new StringBuilder(); // reused to render the board
     private static GameBoard gameboard;
+    private static HintEngine hints;
     public static void main(String[] args) throws IOException {
-        int shuffleLevel = Integer.parseInt(readString("Enter shuffle level: "));
+        CounterRecorder metrics = enableMetrics(System.getProperty("gof.metrics"));
+        try {
+            run(args);
+        } finally {
+            if (metrics != null) {
+                System.err.println(metrics);
+                if (metrics instanceof JfrRecorder jfr) jfr.close();
+            }
+        }
+    }
+
+    /**
+     * This method installs the metrics recorder chosen with {@code -Dgof.metrics}:
+     * {@code counters} keeps the counters in memory, {@code jfr} also emits JDK Flight Recorder events
+     *
+     * @param kind the kind of recorder, null to leave metrics disabled
+     * @return the installed recorder, null if metrics are disabled
+     * @author Giulia Trozzi
+     * @author Francesco Valentini
+     */
+    private static CounterRecorder enableMetrics(String kind) {
+        if (kind == null) return null;
+        CounterRecorder recorder = switch (kind) {
+            case "counters" -> new CounterRecorder();
+            case "jfr" -> new JfrRecorder();
+            default -> throw new IllegalArgumentException("The metrics must be counters or jfr!");
+        };
+        Metrics.setRecorder(recorder);
+        return recorder;
+    }
+
+    /**
+     * This method starts the mode chosen by the command line arguments
+     *
+     * @param args the command line arguments
+     * @throws IOException in case of input errors
+     * @author Giulia Trozzi
+     * @author Francesco Valentini
+     */
+    private static void run(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            batch(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--script")) {
+            script(args);
+            return;
+        }
+        String shuffle = readString("Enter shuffle level: ");
+        if (shuffle == null) return;
+        int shuffleLevel = Integer.parseInt(shuffle.trim());
         gameboard = new GameBoard(shuffleLevel);
+        hints = new HintEngine(gameboard);
         gameHandler();
-        System.out.println("Puzzle Solved!");
+        if (gameboard.isSolved()) System.out.println("Puzzle Solved!");
+    }
+
+    /**
+     * This method runs the batch mode: {@code --batch [file] [--threads n] [--pdb file] [--cache file]}.
+     * The puzzles are read from the file, or from the standard input if no file is given.
+     * With {@code --cache} the 4x4 solutions are kept in a file, so the puzzles solved in a previous run are not solved again.
+     *
+     * @param args the command line arguments
+     * @throws IOException in case of input errors
+     * @author Giulia Trozzi
+     * @author Francesco Valentini
+     */
+    private static void batch(String[] args) throws IOException {
+        Path input = null;
+        Path pdb = null;
+        Path cacheFile = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--pdb" -> pdb = Path.of(args[++i]);
+                case "--cache" -> cacheFile = Path.of(args[++i]);
+                default -> input = Path.of(args[i]);
+            }
+        }
+
+        PatternDatabase database = pdb == null ? null : PatternDatabase.load(pdb);
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(new BufferedOutputStream(System.out, 1 << 16), StandardCharsets.UTF_8));
+        try (SolutionCache cache = cacheFile == null ? null : SolutionCache.open(cacheFile, CACHE_BYTES);
+             BufferedReader in = input == null
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(input)) {
+            new BatchMode(threads, database, cache).run(in, out);
+        }
+    }
+
+    /**
+     * This method runs the scripted mode: {@code --script [--size n] [--shuffle n | --seed s]}.
+     * The commands are read from the standard input, see {@link ScriptMode}.
+     * With {@code --shuffle} the board is shuffled with random movements, with {@code --seed}
+     * it is a uniformly random board that only depends on the seed.
+     *
+     * @param args the command line arguments
+     * @throws IOException in case of input errors
+     * @author Giulia Trozzi
+     * @author Francesco Valentini
+     */
+    private static void script(String[] args) throws IOException {
+        int size = GameBoard.DEFAULT_SIZE;
+        int shuffle = 0;
+        Long seed = null;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--size" -> size = Integer.parseInt(args[++i]);
+                case "--shuffle" -> shuffle = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i] + "!");
+            }
+        }
+
+        GameBoard board = seed == null ? new GameBoard(size, shuffle) : GameBoard.random(size, seed);
+        OutputStreamWriter out = new OutputStreamWriter(new BufferedOutputStream(System.out, 1 << 16), StandardCharsets.UTF_8);
+        new ScriptMode(board).run(keyboard, out);
     }
 
     /**
@@ -50,9 +179,20 @@ public class App {
     private static void gameHandler() throws IOException {
         System.out.println(printBoard());
         while(!gameboard.isSolved()){
-            System.out.println("U = UP, D = DOWN, L = LEFT, R = RIGHT");
+            System.out.println("U = UP, D = DOWN, L = LEFT, R = RIGHT, H = HINT, Z = UNDO, Y = REDO");
             String moveStr = readString("Enter a move: ");
+            if (moveStr == null) return; // end of the input
 
+            char command = moveStr.isEmpty() ? ' ' : Character.toUpperCase(moveStr.charAt(0));
+            if (command == 'H') {
+                System.out.println("Hint: " + hints.nextHint());
+                continue;
+            }
+            if (command == 'Z' || command == 'Y') {
+                if (command == 'Z' ? gameboard.undo() : gameboard.redo()) System.out.println(printBoard());
+                else System.out.println("Nothing to " + (command == 'Z' ? "undo" : "redo"));
+                continue;
+            }
             try{
                 SlidingDirection move = SlidingDirection.fromChar(moveStr.charAt(0));
                 gameboard.move(move);
@@ -66,13 +206,12 @@ public class App {
     /**
      * This method reads a string
      * @param message the prompt
-     * @return the input value
+     * @return the input value, null at the end of the input
      * @throws IOException in case of input errors
      * @author Giulia Trozzi
      * @author Francesco Valentini
      */
     private static String readString(String message) throws IOException {
-        BufferedReader keyboard = new BufferedReader(new InputStreamReader(System.in));
         System.out.print(message);
         return keyboard.readLine();
     }
@@ -84,20 +223,32 @@ public class App {
      *  @author Francesco Valentini
      */
     private static String printBoard() {
-        String result = "";
-        Tile tile;
-        Tile[][] tiles = gameboard.getBoard();
-        for (int i = 0; i < gameboard.getGridSize(); i++) {
-            for (int j = 0; j < gameboard.getGridSize(); j++) {
-                tile = tiles[i][j];
-                if (tile.getValue() == 0) {
-                    result += "   ";
+        boardBuffer.setLength(0);
+        printBoard(gameboard, boardBuffer);
+        return boardBuffer.toString();
+    }
+
+    /**
+     * The method printBoard appends the representation of a game board to a buffer,
+     * the values with at least two digits and the empty cell as blanks
+     * @param board the game board
+     * @param result the buffer that receives the board
+     *  @author Giulia Trozzi
+     *  @author Francesco Valentini
+     */
+    static void printBoard(GameBoard board, StringBuilder result) {
+        int size = board.getGridSize();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                int value = board.getValue(i, j);
+                if (value == 0) {
+                    result.append("   ");
                 } else {
-                    result += String.format("%02d ", tile.getValue());
+                    if (value < 10) result.append('0');
+                    result.append(value).append(' ');
                 }
             }
-            result += "\n";
+            result.append('\n');
         }
-        return result;
     }
 }
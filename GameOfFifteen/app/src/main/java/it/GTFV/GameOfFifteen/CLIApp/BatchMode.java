@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.CLIApp;
+
+import it.GTFV.GameOfFifteen.Game.GameBoard;
+import it.GTFV.GameOfFifteen.Models.PackedMoves;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+import it.GTFV.GameOfFifteen.Solver.PatternDatabase;
+import it.GTFV.GameOfFifteen.Solver.PatternDatabaseHeuristic;
+import it.GTFV.GameOfFifteen.Solver.SolutionCache;
+import it.GTFV.GameOfFifteen.Solver.Solver;
+import it.GTFV.GameOfFifteen.Solver.WalkingDistanceHeuristic;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class implements the non-interactive batch mode of the CLI application.
+ * It reads one puzzle per line (the values of the cells row by row, separated by spaces or commas,
+ * 0 for the empty cell), solves them on a fixed pool of workers and prints, in input order,
+ * one line per puzzle: the solution ("UDLR..."), its length, the expanded nodes and the time in milliseconds.
+ * <p>
+ * At most {@code WINDOW_PER_THREAD} puzzles per worker are in flight: when the window is full the
+ * reader waits for the oldest result, so memory stays flat whatever the size of the input.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public class BatchMode {
+
+    private static final int WINDOW_PER_THREAD = 4;
+
+    private final int threads;
+    private final PatternDatabase database; // used for 4x4 puzzles, may be null
+    private final SolutionCache cache; // looked up for 4x4 puzzles, may be null
+    private final ThreadLocal<Solver> fifteenSolver;
+    private final ThreadLocal<Solver> genericSolver = ThreadLocal.withInitial(Solver::new);
+
+    /**
+     * Constructor method
+     *
+     * @param threads the number of workers
+     * @param database the pattern database used for 4x4 puzzles, null to use the walking distance heuristic
+     */
+    public BatchMode(int threads, PatternDatabase database) {
+        this(threads, database, null);
+    }
+
+    /**
+     * Constructor method
+     *
+     * @param threads the number of workers
+     * @param database the pattern database used for 4x4 puzzles, null to use the walking distance heuristic
+     * @param cache the cache of the 4x4 solutions, may be null; the cached puzzles are reported with 0 expanded nodes
+     */
+    public BatchMode(int threads, PatternDatabase database, SolutionCache cache) {
+        if (threads <= 0) throw new IllegalArgumentException("The number of threads must be greater than 0!");
+        this.threads = threads;
+        this.database = database;
+        this.cache = cache;
+        this.fifteenSolver = ThreadLocal.withInitial(() -> database == null ? new Solver(new WalkingDistanceHeuristic()) : new Solver(new PatternDatabaseHeuristic(database)));
+    }
+
+    /**
+     * Solves all the puzzles of the input and writes the results
+     *
+     * @param in the puzzles, one per line; empty lines are ignored
+     * @param out where the results are written, one line per puzzle
+     * @throws IOException in case of input errors
+     */
+    public void run(BufferedReader in, PrintWriter out) throws IOException {
+        ExecutorService workers = Executors.newFixedThreadPool(this.threads);
+        Deque<Future<String>> window = new ArrayDeque<>();
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) continue;
+                String puzzle = line;
+                if (window.size() == this.threads * WINDOW_PER_THREAD) out.println(result(window.removeFirst()));
+                window.addLast(workers.submit(() -> solve(puzzle)));
+            }
+            while (!window.isEmpty()) out.println(result(window.removeFirst()));
+        } finally {
+            workers.shutdownNow();
+            out.flush();
+        }
+    }
+
+    /**
+     * Solves a puzzle
+     *
+     * @param line the values of the cells
+     * @return the result line, or an error message if the puzzle is not valid
+     */
+    private String solve(String line) {
+        int[] cells;
+        GameBoard board;
+        try {
+            String[] values = line.trim().split("[\\s,]+");
+            cells = new int[values.length];
+            for (int i = 0; i < values.length; i++) cells[i] = Integer.parseInt(values[i]);
+            int size = (int) Math.round(Math.sqrt(cells.length));
+            board = GameBoard.of(size, cells);
+        } catch (IllegalArgumentException e) {
+            return "ERROR " + e.getMessage();
+        }
+
+        Solver solver = board.getGridSize() == 4 ? this.fifteenSolver.get() : this.genericSolver.get();
+        boolean cacheable = this.cache != null && board.getGridSize() == 4;
+        long start = System.nanoTime();
+        List<SlidingDirection> solution = cacheable ? this.cache.get(board.getPackedState()) : null;
+        long nodes = 0;
+        if (solution == null) {
+            solution = solver.solve(board);
+            nodes = solver.getExpandedNodes();
+            if (cacheable) this.cache.put(board.getPackedState(), solution);
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return PackedMoves.toString(PackedMoves.pack(solution), solution.size()) + " " + solution.size() + " " + nodes + " " + millis;
+    }
+
+    private static String result(Future<String> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a solution", e);
+        } catch (ExecutionException e) {
+            return "ERROR " + e.getCause().getMessage();
+        }
+    }
+}
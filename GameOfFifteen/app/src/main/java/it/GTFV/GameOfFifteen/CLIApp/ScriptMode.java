@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.CLIApp;
+
+import it.GTFV.GameOfFifteen.Game.GameBoard;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * This class implements the scripted mode of the CLI application: it reads a stream of commands,
+ * one character each, and applies them to a board without prompts.
+ * <ul>
+ *     <li>{@code U}, {@code D}, {@code L}, {@code R}: movements (lower case is accepted too);</li>
+ *     <li>{@code Z} and {@code Y}: undo and redo;</li>
+ *     <li>{@code P}: prints the board;</li>
+ *     <li>white space is ignored, any other character is skipped and only counted in the final summary.</li>
+ * </ul>
+ * The input is read in blocks through a single reader and the boards are rendered into one reused buffer,
+ * so long scripts are limited by the speed of the moves, not of the I/O.
+ * At the end the final board and a summary are printed.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public class ScriptMode {
+
+    private static final int BLOCK = 1 << 16;
+
+    private final GameBoard board;
+    private final StringBuilder buffer = new StringBuilder(); // reused for every board
+    private long moves;
+    private long illegalMoves;
+    private long invalidCharacters;
+
+    /**
+     * Constructor method
+     *
+     * @param board the board the script is applied to
+     * @throws IllegalArgumentException if board is null
+     */
+    public ScriptMode(GameBoard board) {
+        if (board == null) throw new IllegalArgumentException("Board can't be null!");
+        this.board = board;
+    }
+
+    /**
+     * Applies all the commands of the input
+     *
+     * @param in the commands
+     * @param out where the boards and the summary are written
+     * @throws IOException in case of input or output errors
+     */
+    public void run(Reader in, Writer out) throws IOException {
+        char[] block = new char[BLOCK];
+        int read;
+        while ((read = in.read(block)) > 0) {
+            for (int i = 0; i < read; i++) {
+                execute(block[i], out);
+            }
+        }
+        print(out);
+        out.write("Moves: " + this.moves + ", illegal: " + this.illegalMoves + ", invalid characters: " + this.invalidCharacters
+                + ", solved: " + this.board.isSolved() + "\n");
+        out.flush();
+    }
+
+    /**
+     * Executes one command
+     *
+     * @param command the character of the command
+     * @param out where the board is printed
+     * @throws IOException in case of output errors
+     */
+    private void execute(char command, Writer out) throws IOException {
+        switch (command) {
+            case 'U', 'u' -> move(SlidingDirection.UP);
+            case 'D', 'd' -> move(SlidingDirection.DOWN);
+            case 'L', 'l' -> move(SlidingDirection.LEFT);
+            case 'R', 'r' -> move(SlidingDirection.RIGHT);
+            case 'Z', 'z' -> this.board.undo();
+            case 'Y', 'y' -> this.board.redo();
+            case 'P', 'p' -> print(out);
+            default -> {
+                if (!Character.isWhitespace(command)) this.invalidCharacters++;
+            }
+        }
+    }
+
+    private void move(SlidingDirection direction) {
+        if (this.board.move(direction)) this.moves++;
+        else this.illegalMoves++;
+    }
+
+    private void print(Writer out) throws IOException {
+        this.buffer.setLength(0);
+        App.printBoard(this.board, this.buffer);
+        this.buffer.append('\n');
+        out.append(this.buffer);
+    }
+}
@@ -0,0 +1,25 @@
+plugins {
+    id("buildlogic.java-common-conventions")
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+dependencies {
+    implementation(project(":API"))
+}
+
+// The pattern database benchmarks read the file generated by the API module
+val patternDatabase = project(":API").layout.buildDirectory.file("pdb/fifteen-663.pdb")
+
+jmh {
+    jmhVersion = "1.37"
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    profilers.add("gc") // allocation rate and bytes per operation for every benchmark
+    resultFormat = "JSON"
+    jvmArgsAppend.add("-Dgof.pdb=${patternDatabase.get().asFile.absolutePath}")
+}
+
+tasks.named("jmh") {
+    dependsOn(":API:generatePatternDatabase")
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Benchmarks;
+
+import it.GTFV.GameOfFifteen.Game.GameBoard;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+import it.GTFV.GameOfFifteen.Solver.PatternDatabase;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * This class builds the reproducible inputs shared by the benchmarks
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+final class Boards {
+
+    private static final SlidingDirection[] DIRECTIONS = SlidingDirection.values();
+
+    private Boards() {
+    }
+
+    /**
+     * Builds a board with a seeded random walk that never undoes the previous movement,
+     * so its optimal solution is at most {@code depth} movements long
+     *
+     * @param size the number of rows and columns of the grid
+     * @param depth the number of movements of the walk
+     * @param seed the seed of the walk
+     * @return the board
+     */
+    static GameBoard walk(int size, int depth, long seed) {
+        GameBoard board = new GameBoard(size, 0);
+        Random prng = new Random(seed);
+        SlidingDirection previous = null;
+        for (int i = 0; i < depth; i++) {
+            SlidingDirection direction;
+            do {
+                direction = DIRECTIONS[prng.nextInt(DIRECTIONS.length)];
+            } while ((previous != null && direction == previous.opposite()) || !board.move(direction));
+            previous = direction;
+        }
+        return board;
+    }
+
+    /**
+     * Returns a seeded sequence of random directions
+     *
+     * @param length the number of directions
+     * @param seed the seed of the sequence
+     * @return the directions
+     */
+    static SlidingDirection[] directions(int length, long seed) {
+        Random prng = new Random(seed);
+        SlidingDirection[] directions = new SlidingDirection[length];
+        for (int i = 0; i < length; i++) {
+            directions[i] = DIRECTIONS[prng.nextInt(DIRECTIONS.length)];
+        }
+        return directions;
+    }
+
+    /**
+     * Maps the pattern database file passed by the build with the {@code gof.pdb} property
+     *
+     * @return the pattern database
+     */
+    static PatternDatabase patternDatabase() {
+        String file = System.getProperty("gof.pdb", "../API/build/pdb/fifteen-663.pdb");
+        try {
+            return PatternDatabase.load(Path.of(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Run :API:generatePatternDatabase first", e);
+        }
+    }
+}
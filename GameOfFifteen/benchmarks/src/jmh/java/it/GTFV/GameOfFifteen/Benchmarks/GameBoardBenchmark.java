@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Benchmarks;
+
+import it.GTFV.GameOfFifteen.Game.GameBoard;
+import it.GTFV.GameOfFifteen.Models.Position;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+import it.GTFV.GameOfFifteen.Models.Tile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the hot paths of {@link GameBoard}, {@link Position} and {@link Tile}
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GameBoardBenchmark {
+
+    private static final int MASK = 1023;
+
+    @Param({"3", "4", "5", "10"})
+    public int size;
+
+    @Param({"100", "1000"})
+    public int shuffle;
+
+    private GameBoard board;
+    private Position position;
+    private SlidingDirection[] directions;
+    private int next;
+
+    @Setup
+    public void setup() {
+        this.board = Boards.walk(this.size, this.shuffle, 42);
+        this.position = this.board.getEmptyPosition();
+        this.directions = Boards.directions(MASK + 1, 7);
+    }
+
+    @Benchmark
+    public boolean move() {
+        return this.board.move(this.directions[this.next++ & MASK]);
+    }
+
+    @Benchmark
+    public GameBoard construct() {
+        return new GameBoard(this.size, this.shuffle);
+    }
+
+    @Benchmark
+    public GameBoard random() {
+        return GameBoard.random(this.size, this.next++);
+    }
+
+    @Benchmark
+    public boolean isSolved() {
+        return this.board.isSolved();
+    }
+
+    @Benchmark
+    public Tile get() {
+        return this.board.get(1 + (this.next++ % (this.size * this.size - 1)));
+    }
+
+    @Benchmark
+    public SlidingDirection[] enabledMoves() {
+        return this.board.enabledMoves();
+    }
+
+    @Benchmark
+    public int enabledMask() {
+        return this.board.enabledMask();
+    }
+
+    @Benchmark
+    public Position positionNext() {
+        return this.position.next(this.directions[this.next++ & MASK]);
+    }
+
+    @Benchmark
+    public SlidingDirection[] positionEnabledMoves() {
+        return this.position.enabledMoves();
+    }
+}
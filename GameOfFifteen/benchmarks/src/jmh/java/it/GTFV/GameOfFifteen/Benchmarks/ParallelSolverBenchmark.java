@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Benchmarks;
+
+import it.GTFV.GameOfFifteen.Game.GameBoard;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+import it.GTFV.GameOfFifteen.Solver.ParallelSolver;
+import it.GTFV.GameOfFifteen.Solver.PatternDatabaseHeuristic;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of {@link ParallelSolver} with the number of threads, on uniformly random 4x4 boards.
+ * Besides the time per solve, the {@code nodes} counter reports the expanded nodes per second.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ParallelSolverBenchmark {
+
+    private static final int BOARDS = 8;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int threads;
+
+    private ForkJoinPool pool;
+    private ParallelSolver solver;
+    private GameBoard[] boards;
+    private int next;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Nodes {
+        public long nodes;
+    }
+
+    @Setup
+    public void setup() {
+        this.pool = new ForkJoinPool(this.threads);
+        this.solver = new ParallelSolver(new PatternDatabaseHeuristic(Boards.patternDatabase()), this.pool);
+        this.boards = new GameBoard[BOARDS];
+        for (int i = 0; i < BOARDS; i++) {
+            this.boards[i] = GameBoard.random(4, i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public List<SlidingDirection> solve(Nodes counters) {
+        List<SlidingDirection> solution = this.solver.solve(this.boards[this.next++ % BOARDS]);
+        counters.nodes += this.solver.getExpandedNodes();
+        return solution;
+    }
+}
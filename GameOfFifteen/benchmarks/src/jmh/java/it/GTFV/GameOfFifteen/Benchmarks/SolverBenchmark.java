@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.Benchmarks;
+
+import it.GTFV.GameOfFifteen.Game.GameBoard;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+import it.GTFV.GameOfFifteen.Solver.BidirectionalSolver;
+import it.GTFV.GameOfFifteen.Solver.LinearConflictHeuristic;
+import it.GTFV.GameOfFifteen.Solver.PatternDatabaseHeuristic;
+import it.GTFV.GameOfFifteen.Solver.Solver;
+import it.GTFV.GameOfFifteen.Solver.WalkingDistanceHeuristic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Benchmarks of the solver engines on 4x4 boards of increasing depth
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SolverBenchmark {
+
+    private static final int BOARDS = 16;
+
+    @Param({"20", "30", "40"})
+    public int depth;
+
+    @Param({"ida-linear-conflict", "ida-walking-distance", "ida-pattern-database", "bidirectional"})
+    public String engine;
+
+    private GameBoard[] boards;
+    private Function<GameBoard, List<SlidingDirection>> solver;
+    private int next;
+
+    @Setup
+    public void setup() {
+        this.boards = new GameBoard[BOARDS];
+        for (int i = 0; i < BOARDS; i++) {
+            this.boards[i] = Boards.walk(4, this.depth, i);
+        }
+        this.solver = switch (this.engine) {
+            case "ida-linear-conflict" -> new Solver(new LinearConflictHeuristic())::solve;
+            case "ida-walking-distance" -> new Solver(new WalkingDistanceHeuristic())::solve;
+            case "ida-pattern-database" -> new Solver(new PatternDatabaseHeuristic(Boards.patternDatabase()))::solve;
+            case "bidirectional" -> new BidirectionalSolver()::solve;
+            default -> throw new IllegalArgumentException("Unknown engine " + this.engine);
+        };
+    }
+
+    @Benchmark
+    public List<SlidingDirection> solve() {
+        return this.solver.apply(this.boards[this.next++ % BOARDS]);
+    }
+}
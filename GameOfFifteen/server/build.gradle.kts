@@ -0,0 +1,15 @@
+plugins {
+    id("buildlogic.java-application-conventions")
+}
+
+dependencies {
+    implementation(project(":API"))
+}
+
+application {
+    // Define the main class for the application.
+    mainClass = "it.GTFV.GameOfFifteen.ServerApp.GameServer"
+    // Without TCP_NODELAY the small responses wait for delayed ACKs, adding tens of milliseconds to every request.
+    // The JDK server reads the property once, so it is set on the command line of the launcher.
+    applicationDefaultJvmArgs = listOf("-Dsun.net.httpserver.nodelay=true")
+}
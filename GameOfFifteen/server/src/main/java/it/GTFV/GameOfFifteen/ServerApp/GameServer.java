@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.ServerApp;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import it.GTFV.GameOfFifteen.Game.GameBoard;
+import it.GTFV.GameOfFifteen.Game.PackedBoard;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class implements a game server over the HTTP server of the JDK.
+ * Every request is handled on its own virtual thread; the games live in a {@link SessionStore}.
+ * <ul>
+ *     <li>{@code POST /games}: starts a new game with a uniformly random board;</li>
+ *     <li>{@code GET /games/{id}}: returns the state of a game;</li>
+ *     <li>{@code POST /games/{id}/move?dirs=UDLR}: applies the movements in order, stopping at the first one that is not possible;</li>
+ *     <li>{@code GET /games/{id}/solved}: returns whether the game is solved.</li>
+ * </ul>
+ * Responses are JSON objects; the state is {@code {"id":"..","cells":[..],"moves":n,"solved":b}}.
+ * The JVM should run with {@code -Dsun.net.httpserver.nodelay=true} (the launcher of the module sets it),
+ * otherwise the small responses wait for delayed ACKs.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public class GameServer {
+
+    private static final String GAMES = "/games";
+    private static final String USAGE = "Usage: server [--port n] [--stripes n] [--memory-mb n] [--idle-minutes n]";
+
+    private final SessionStore sessions;
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * Constructor method
+     *
+     * @param port the port to listen on, 0 for any free port
+     * @param sessions the store of the games
+     * @param sweepSeconds the interval between two evictions of the idle sessions
+     * @throws IOException if the server can't listen on the port
+     */
+    public GameServer(int port, SessionStore sessions, long sweepSeconds) throws IOException {
+        this.sessions = sessions;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.handlers = Executors.newVirtualThreadPerTaskExecutor();
+        this.server.setExecutor(this.handlers);
+        this.server.createContext(GAMES, this::handle);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sweeper.scheduleWithFixedDelay(sessions::evictIdle, sweepSeconds, sweepSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Starts the server: {@code [--port n] [--stripes n] [--memory-mb n] [--idle-minutes n]}.
+     * Invalid arguments are reported on the standard error together with the usage, and the server doesn't start.
+     *
+     * @param args the command line arguments
+     * @throws IOException if the server can't listen on the port
+     */
+    public static void main(String[] args) throws IOException {
+        int port = 8080;
+        int stripes = 64;
+        long memoryMb = 256;
+        long idleMinutes = 30;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--port" -> port = (int) value(args, ++i, 0, 65535);
+                    case "--stripes" -> stripes = (int) value(args, ++i, 1, 1 << 16);
+                    case "--memory-mb" -> memoryMb = value(args, ++i, 1, Long.MAX_VALUE >> 20);
+                    case "--idle-minutes" -> idleMinutes = value(args, ++i, 1, TimeUnit.NANOSECONDS.toMinutes(Long.MAX_VALUE));
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i] + "!");
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return;
+        }
+
+        long maxSessions = memoryMb * 1024 * 1024 / SessionStore.SESSION_BYTES;
+        SessionStore sessions = new SessionStore(stripes, maxSessions, TimeUnit.MINUTES.toNanos(idleMinutes));
+        GameServer server = new GameServer(port, sessions, Math.max(1, TimeUnit.MINUTES.toSeconds(idleMinutes) / 4));
+        server.start();
+        System.out.println("Listening on port " + server.getPort() + ", up to " + maxSessions + " sessions");
+    }
+
+    /**
+     * Returns the value of an option
+     *
+     * @param args the command line arguments
+     * @param i the index of the value, right after the option
+     * @param min the smallest valid value
+     * @param max the biggest valid value
+     * @return the value
+     * @throws IllegalArgumentException if the value is missing, is not a number or is out of range
+     */
+    private static long value(String[] args, int i, long min, long max) {
+        if (i >= args.length) throw new IllegalArgumentException("The option " + args[i - 1] + " needs a value!");
+        long value;
+        try {
+            value = Long.parseLong(args[i]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("The value of " + args[i - 1] + " must be a number!");
+        }
+        if (value < min || value > max) throw new IllegalArgumentException("The value of " + args[i - 1] + " must be in the " + min + "-" + max + " range!");
+        return value;
+    }
+
+    public void start() {
+        this.server.start();
+    }
+
+    /**
+     * Stops the server, waiting up to the given delay for the requests in progress
+     *
+     * @param delaySeconds the maximum time to wait
+     */
+    public void stop(int delaySeconds) {
+        this.server.stop(delaySeconds);
+        this.sweeper.shutdownNow();
+        this.handlers.shutdown();
+    }
+
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Answers a request
+     *
+     * @param exchange the request and its response
+     * @throws IOException in case of network errors
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream body = exchange.getRequestBody()) {
+            body.transferTo(OutputStream.nullOutputStream()); // the endpoints have no body
+            Response response = route(exchange.getRequestMethod(), exchange.getRequestURI().getPath(), exchange.getRequestURI().getRawQuery());
+            byte[] bytes = response.json().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response.status(), bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Routes a request to its endpoint
+     *
+     * @param method the HTTP method
+     * @param path the path, starting with {@code /games}
+     * @param query the raw query string, may be null
+     * @return the status and the body of the response
+     */
+    private Response route(String method, String path, String query) {
+        String rest = path.substring(GAMES.length());
+        if (rest.isEmpty() || rest.equals("/")) {
+            if (!method.equals("POST")) return error(405, "Use POST to start a game");
+            PackedBoard board = new PackedBoard(GameBoard.random(PackedBoard.SIZE).getPackedState());
+            return new Response(201, this.sessions.create(board, GameServer::state));
+        }
+
+        String[] parts = rest.split("/"); // parts[0] is empty, then the id and the action if any
+        if (!rest.startsWith("/") || parts.length < 2 || parts.length > 3) return error(404, "Not found");
+        long id;
+        try {
+            id = Long.parseUnsignedLong(parts[1], 16);
+        } catch (NumberFormatException e) {
+            return error(404, "Unknown game");
+        }
+        String action = parts.length == 3 ? parts[2] : "";
+
+        String json;
+        switch (action) {
+            case "" -> {
+                if (!method.equals("GET")) return error(405, "Use GET to read a game");
+                json = this.sessions.apply(id, GameServer::state);
+            }
+            case "solved" -> {
+                if (!method.equals("GET")) return error(405, "Use GET to read a game");
+                json = this.sessions.apply(id, session -> "{\"solved\":" + session.getBoard().isSolved() + "}");
+            }
+            case "move" -> {
+                if (!method.equals("POST")) return error(405, "Use POST to move");
+                String dirs = parameter(query, "dirs");
+                if (dirs == null || dirs.isEmpty()) return error(400, "The dirs parameter is missing");
+                SlidingDirection[] directions = new SlidingDirection[dirs.length()];
+                try {
+                    for (int i = 0; i < directions.length; i++) {
+                        directions[i] = SlidingDirection.fromChar(dirs.charAt(i));
+                    }
+                } catch (IllegalArgumentException e) {
+                    return error(400, "Invalid direction");
+                }
+                json = this.sessions.apply(id, session -> {
+                    int applied = 0;
+                    while (applied < directions.length && session.move(directions[applied])) applied++;
+                    return "{\"applied\":" + applied + "," + state(session).substring(1);
+                });
+            }
+            default -> {
+                return error(404, "Not found");
+            }
+        }
+        return json == null ? error(404, "Unknown game") : new Response(200, json);
+    }
+
+    /**
+     * Returns the state of a game as a JSON object
+     */
+    private static String state(Session session) {
+        PackedBoard board = session.getBoard();
+        StringBuilder json = new StringBuilder(96);
+        json.append("{\"id\":\"").append(Long.toHexString(session.getId())).append("\",\"cells\":[");
+        for (int i = 0; i < PackedBoard.CELLS; i++) {
+            if (i > 0) json.append(',');
+            json.append(board.get(i));
+        }
+        return json.append("],\"moves\":").append(session.getMoves())
+                .append(",\"solved\":").append(board.isSolved()).append('}').toString();
+    }
+
+    private static Response error(int status, String message) {
+        return new Response(status, "{\"error\":\"" + message + "\"}");
+    }
+
+    /**
+     * Returns the value of a parameter of the query string, null if it is missing
+     */
+    private static String parameter(String query, String name) {
+        if (query == null) return null;
+        for (String parameter : query.split("&")) {
+            if (parameter.startsWith(name + "=")) return parameter.substring(name.length() + 1);
+        }
+        return null;
+    }
+
+    /**
+     * The status and the JSON body of a response
+     */
+    private record Response(int status, String json) {
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.ServerApp;
+
+import it.GTFV.GameOfFifteen.Game.PackedBoard;
+import it.GTFV.GameOfFifteen.Models.SlidingDirection;
+
+/**
+ * This class represents the game of a player: a 4x4 board packed in a {@code long},
+ * the number of movements and the time of the last request.
+ * A session is guarded by the lock of its stripe in the {@link SessionStore}.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public final class Session {
+
+    private final long id;
+    private final PackedBoard board;
+    private int moves;
+    private long lastAccess; // System.nanoTime() of the last request
+
+    Session(long id, PackedBoard board, long now) {
+        this.id = id;
+        this.board = board;
+        this.lastAccess = now;
+    }
+
+    /**
+     * Moves the empty cell in the given direction
+     *
+     * @param direction the sliding direction
+     * @return true if the movement was possible
+     */
+    public boolean move(SlidingDirection direction) {
+        if (!this.board.move(direction)) return false;
+        this.moves++;
+        return true;
+    }
+
+    public long getId() {
+        return this.id;
+    }
+
+    public PackedBoard getBoard() {
+        return this.board;
+    }
+
+    public int getMoves() {
+        return this.moves;
+    }
+
+    long getLastAccess() {
+        return this.lastAccess;
+    }
+
+    void touch(long now) {
+        this.lastAccess = now;
+    }
+}
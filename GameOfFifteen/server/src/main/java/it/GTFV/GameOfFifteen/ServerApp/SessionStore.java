@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.ServerApp;
+
+import it.GTFV.GameOfFifteen.Game.PackedBoard;
+
+import java.security.SecureRandom;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * This class keeps the sessions of the server in a fixed number of stripes, each one a map
+ * in access order guarded by its own lock, so requests for different sessions rarely wait for each other.
+ * The locks are {@link ReentrantLock}s rather than monitors, so a virtual thread waiting for a stripe
+ * doesn't pin its carrier thread.
+ * <p>
+ * The number of sessions has a hard cap, split evenly among the stripes: when a stripe is full,
+ * its least recently used session is evicted to make room. {@link #evictIdle} removes the sessions
+ * that haven't been used for a while, starting from the least recently used of every stripe.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+public final class SessionStore {
+
+    public static final int SESSION_BYTES = 136; // heap used by a session, map entry and key included, measured with 1M sessions and compressed oops
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final int stripeCapacity;
+    private final long idleNanos;
+    private final SecureRandom ids = new SecureRandom();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Constructor method
+     *
+     * @param stripes the number of stripes, rounded up to a power of 2
+     * @param maxSessions the maximum number of live sessions
+     * @param idleNanos the time after which an unused session is evicted, in nanoseconds
+     * @throws IllegalArgumentException if a parameter is not greater than 0
+     */
+    public SessionStore(int stripes, long maxSessions, long idleNanos) {
+        if (stripes <= 0 || stripes > 1 << 16) throw new IllegalArgumentException("The number of stripes must be in the 1-65536 range!");
+        if (maxSessions <= 0) throw new IllegalArgumentException("The maximum number of sessions must be greater than 0!");
+        if (idleNanos <= 0) throw new IllegalArgumentException("The idle time must be greater than 0!");
+
+        int count = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) this.stripes[i] = new Stripe();
+        this.mask = count - 1;
+        this.stripeCapacity = (int) Math.max(1, Math.min(Integer.MAX_VALUE, (maxSessions + count - 1) / count));
+        this.idleNanos = idleNanos;
+    }
+
+    /**
+     * Creates a session with the given board, then runs an action on it while holding the lock of its stripe
+     *
+     * @param board the board of the new session
+     * @param action the action, it must not block
+     * @param <T> the type of the result
+     * @return the result of the action
+     */
+    public <T> T create(PackedBoard board, Function<Session, T> action) {
+        long id;
+        do {
+            id = this.ids.nextLong();
+        } while (id == 0);
+        long now = System.nanoTime();
+        Stripe stripe = stripe(id);
+        stripe.lock.lock();
+        try {
+            if (stripe.sessions.size() >= this.stripeCapacity) {
+                Iterator<Session> eldest = stripe.sessions.values().iterator();
+                eldest.next();
+                eldest.remove();
+                this.evictions.incrementAndGet();
+            }
+            Session session = new Session(id, board, now);
+            stripe.sessions.put(id, session);
+            return action.apply(session);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Runs an action on a session while holding the lock of its stripe, and marks the session as used
+     *
+     * @param id the id of the session
+     * @param action the action, it must not block
+     * @param <T> the type of the result
+     * @return the result of the action, null if there is no session with the given id
+     */
+    public <T> T apply(long id, Function<Session, T> action) {
+        Stripe stripe = stripe(id);
+        stripe.lock.lock();
+        try {
+            Session session = stripe.sessions.get(id); // moves the session to the end of the access order
+            if (session == null) return null;
+            session.touch(System.nanoTime());
+            return action.apply(session);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the sessions that haven't been used for longer than the idle time
+     *
+     * @return the number of evicted sessions
+     */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Stripe stripe : this.stripes) {
+            stripe.lock.lock();
+            try {
+                Iterator<Session> sessions = stripe.sessions.values().iterator();
+                while (sessions.hasNext() && now - sessions.next().getLastAccess() > this.idleNanos) {
+                    sessions.remove();
+                    evicted++;
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        this.evictions.addAndGet(evicted);
+        return evicted;
+    }
+
+    /**
+     * Returns the number of live sessions
+     * @return the sum of the sizes of the stripes
+     */
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : this.stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.sessions.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of sessions evicted because idle or to respect the cap
+     * @return the number of evictions
+     */
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    private Stripe stripe(long id) {
+        return this.stripes[(int) (id ^ (id >>> 32)) & this.mask];
+    }
+
+    /**
+     * A part of the sessions with its own lock, in access order (least recently used first)
+     */
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Long, Session> sessions = new LinkedHashMap<>(16, 0.75f, true);
+    }
+}
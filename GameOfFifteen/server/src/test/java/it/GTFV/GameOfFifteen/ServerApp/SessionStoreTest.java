@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2025 Francesco Valentini
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package it.GTFV.GameOfFifteen.ServerApp;
+
+import it.GTFV.GameOfFifteen.Game.PackedBoard;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks the two ways a session leaves the {@link SessionStore}: the cap of its stripe and the idle time.
+ *
+ * @author Giulia Trozzi
+ * @author Francesco Valentini
+ */
+class SessionStoreTest {
+
+    @Test
+    void fullStripeEvictsLeastRecentlyUsed() {
+        SessionStore store = new SessionStore(1, 2, TimeUnit.HOURS.toNanos(1));
+        long first = store.create(new PackedBoard(), Session::getId);
+        long second = store.create(new PackedBoard(), Session::getId);
+        assertNotNull(store.apply(first, Session::getId)); // the second session is now the least recently used
+
+        long third = store.create(new PackedBoard(), Session::getId);
+        assertEquals(2, store.size());
+        assertEquals(1, store.getEvictions());
+        assertNull(store.apply(second, Session::getId));
+        assertNotNull(store.apply(first, Session::getId));
+        assertNotNull(store.apply(third, Session::getId));
+    }
+
+    @Test
+    void idleSessionsAreEvicted() throws InterruptedException {
+        long idle = TimeUnit.MILLISECONDS.toNanos(200);
+        SessionStore store = new SessionStore(4, 100, idle);
+        long old = store.create(new PackedBoard(), Session::getId);
+        TimeUnit.NANOSECONDS.sleep(idle * 2);
+        long recent = store.create(new PackedBoard(), Session::getId);
+
+        assertEquals(1, store.evictIdle());
+        assertEquals(1, store.size());
+        assertNull(store.apply(old, Session::getId));
+        assertNotNull(store.apply(recent, Session::getId));
+        assertEquals(1, store.getEvictions());
+    }
+}
@@ -14,3 +14,5 @@ rootProject.name = "GameOfFifteen"
 include("app")
 include("API")
 include("GUIApp")
+include("benchmarks")
+include("server")